@@ -8,18 +8,15 @@ import com.chess.model.pieces.Rook;
 import java.util.*;
 
 public class BlackPlayer extends Player {
-    private final Collection<Move> opponentLegals;
 
     /** Constructor
      *
      * @param board the board
-     * @param whiteStandardLegalMoves the white player's legal moves
-     * @param blackStandardLegalMoves the black player's legal moves
      */
-    public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves, final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
-        this.opponentLegals = whiteStandardLegalMoves;
+    public BlackPlayer(final Board board) {
+        super(board);
     }
+
     @Override
     public Collection<Piece> getActivePieces() {
         return this.board.getBlackPieces();
@@ -41,11 +38,10 @@ public class BlackPlayer extends Player {
     }
     /**
      * @param playerLegals the player's legal moves
-     * @param opponentLegals the opponent's legal moves
      * @return the player's king castles
      */
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
 
         // If the king has no castle opportunities
         if (!hasCastleOpportunities()) {
@@ -58,13 +54,13 @@ public class BlackPlayer extends Player {
         if(this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == 4 && !this.isInCheck()) {
             //Black King Side Castle
             // If the tiles between the king and the rook are empty
-            if(!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()) {
-                final Piece kingSideRook = this.board.getTile(7).getPiece();
+            if(!this.board.isTileOccupied(5) && !this.board.isTileOccupied(6)) {
+                final Piece kingSideRook = this.board.getPiece(7);
                 // If the rook is not null and the rook is a rook and the rook is the first move
                 if(kingSideRook != null && kingSideRook.isFirstMove()) {
                     // If the king is not in check and the tiles between the king and the rook are not in check
-                    if(Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                    if(!this.board.isSquareAttacked(5, Alliance.WHITE) &&
+                            !this.board.isSquareAttacked(6, Alliance.WHITE) &&
                             kingSideRook.getPieceType().isRook()) {
                         // Add the king side castle move to the list of legal moves
                         kingCastles.add(new Move.KingSideCastleMove(this.board, this.playerKing, 6,
@@ -74,14 +70,14 @@ public class BlackPlayer extends Player {
             }
             //Black Queen Side Castle
             // If the tiles between the king and the rook are empty
-            if(!this.board.getTile(1).isTileOccupied() && !this.board.getTile(2).isTileOccupied() &&
-                    !this.board.getTile(3).isTileOccupied()) {
-                final Piece queenSideRook = this.board.getTile(0).getPiece();
+            if(!this.board.isTileOccupied(1) && !this.board.isTileOccupied(2) &&
+                    !this.board.isTileOccupied(3)) {
+                final Piece queenSideRook = this.board.getPiece(0);
                 // If the rook is not null and the rook is a rook and the rook is the first move
                 if(queenSideRook != null && queenSideRook.isFirstMove()) {
                     // If the king is not in check and the tiles between the king and the rook are not in check
-                    if(Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
+                    if(!this.board.isSquareAttacked(2, Alliance.WHITE) &&
+                            !this.board.isSquareAttacked(3, Alliance.WHITE) &&
                             queenSideRook.getPieceType().isRook()) {
                         // Add the queen side castle move to the list of legal moves
                         kingCastles.add(new Move.QueenSideCastleMove(this.board, this.playerKing, 2,
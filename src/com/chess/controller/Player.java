@@ -1,6 +1,7 @@
 package com.chess.controller;
 
 import com.chess.model.board.Board;
+import com.chess.model.board.LegalMoveGenerator;
 import com.chess.model.board.Move;
 import com.chess.model.pieces.King;
 import com.chess.model.pieces.Piece;
@@ -13,53 +14,25 @@ public abstract class Player {
     protected final Board board;
     /** The player's king */
     protected final King playerKing;
-    /** The player's legal moves */
-    protected final Collection<Move> legalMoves;
-    /** The opponent's legal moves */
-    protected final Collection<Move> opponentLegalMoves;
-    /** If the player is in check */
-    private final boolean isInCheck;
+    /** The player's legal moves including castles, calculated on first access */
+    private volatile Collection<Move> legalMoves;
+    /** The player's strictly legal moves, calculated on first access */
+    private volatile Collection<Move> strictlyLegalMoves;
+    /** The checkers and pinned pieces of the player's king, calculated on first access */
+    private volatile LegalMoveGenerator legalMoveGenerator;
     private int moveNumber;
 
     /** Constructor
+     * <p>
+     * Nothing is generated here: legal moves, castles and the check status are calculated the first time they are
+     * asked for and then kept, so boards that are never looked at do not pay for them.
      *
      * @param board the board
-     * @param legalMoves the player's legal moves
-     * @param opponentMoves the opponent's legal moves
      */
-    Player(final Board board,
-           final Collection<Move> legalMoves,
-           final Collection<Move> opponentMoves) {
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        Collection<Move> kingAttacks = calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves);
-        this.isInCheck = !kingAttacks.isEmpty();
-        Collection<Move> castleMoves = calculateKingCastles(legalMoves, opponentMoves);
-        if (castleMoves != null) {
-            this.legalMoves = new ArrayList<>(legalMoves);
-            this.legalMoves.addAll(castleMoves);
-        } else {
-            this.legalMoves = legalMoves;
-        }
-        this.opponentLegalMoves = Collections.unmodifiableList(new LinkedList<>(opponentMoves));
         this.moveNumber = 0;
-
-    }
-
-    /** Calculate the attacks on a tile
-     *
-     * @param piecePosition the position of the piece
-     * @param opponentLegalMoves the opponent's legal moves
-     * @return a collection of legal moves
-     */
-    public static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> opponentLegalMoves) {
-        final List<Move> attackMoves = new ArrayList<>(); /* List of legal moves */
-        for(final Move move : opponentLegalMoves){ /* For each legal move */
-            if(piecePosition == move.getDestinationCoordinate()){ /* If the piece's position is the same as the destination coordinate */
-                attackMoves.add(move); /* Add the move to the list of legal moves */
-            }
-        }
-        return Collections.unmodifiableList(new LinkedList<>(attackMoves)); /* Return the list of legal moves */
     }
 
     /** Get the player's king
@@ -77,12 +50,12 @@ public abstract class Player {
 
     /** Get the player's legal escape moves
      *
-     * @return the player's legal moves
+     * @return true if the player has a move that does not leave the king in check
      */
     protected boolean hasEscapeMoves() {
-        for (final Move move : this.legalMoves) { /* For each legal move */
-            final MoveTransition transition = makeMove(move); /* Make the move */
-            if (transition.getMoveStatus().isDone()) { /* If the move is done */
+        final LegalMoveGenerator generator = getLegalMoveGenerator();
+        for (final Move move : getLegalMoves()) { /* For each legal move */
+            if (generator.isLegal(move)) { /* If the move does not leave the king in check */
                 return true; /* Return true */
             }
         }
@@ -95,7 +68,7 @@ public abstract class Player {
      * @return true if the move is legal
      */
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        return getLegalMoves().contains(move);
     }
 
     /** Checks if the player is in check
@@ -103,7 +76,7 @@ public abstract class Player {
      * @return true if the player is in check
      */
     public boolean isInCheck() {
-        return this.isInCheck;
+        return getLegalMoveGenerator().isInCheck();
     }
 
     /** Checks if the player is in checkmate
@@ -111,7 +84,7 @@ public abstract class Player {
      * @return true if the player is in checkmate
      */
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
     /** Checks if the player is in stalemate
@@ -119,7 +92,7 @@ public abstract class Player {
      * @return true if the player is in stalemate
      */
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     /** Checks if the player is castled
@@ -141,20 +114,21 @@ public abstract class Player {
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE); /* Return an illegal move */
         }
 
-        final Board transitionBoard = move.execute(); /* Execute the move on a temporary board*/
-
-
-        /* Create a new collection of legal moves for the opponent on the new board */
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.currentPlayer().getLegalMoves());
-
-        /* If the king is attacked from the move, the move is illegal */
-        if(!kingAttacks.isEmpty()){
+        /* If the king is attacked after the move, the move is illegal, no board is built to find out */
+        if(!getLegalMoveGenerator().isLegal(move)){
             return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
         }
 
         /* Otherwise, the move is legal and then made */
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
+    }
+
+    /** Get the board the player is playing on
+     *
+     * @return the board
+     */
+    public Board getBoard() {
+        return this.board;
     }
 
     /** Get the player's king
@@ -170,9 +144,46 @@ public abstract class Player {
      * @return the player's legal moves
      */
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> moves = this.legalMoves;
+        if (moves == null) { /* first access */
+            final Collection<Move> standardMoves = this.board.getStandardLegalMoves(getAlliance());
+            final Collection<Move> castleMoves = calculateKingCastles(standardMoves);
+            if (castleMoves != null && !castleMoves.isEmpty()) {
+                moves = new ArrayList<>(standardMoves);
+                moves.addAll(castleMoves);
+            } else {
+                moves = standardMoves;
+            }
+            this.legalMoves = moves;
+        }
+        return moves;
+    }
+
+    /** Get the player's strictly legal moves, the legal moves that do not leave the king in check
+     *
+     * @return the player's strictly legal moves
+     */
+    public Collection<Move> getStrictlyLegalMoves() {
+        Collection<Move> moves = this.strictlyLegalMoves;
+        if (moves == null) { /* first access */
+            moves = getLegalMoveGenerator().generate(getLegalMoves());
+            this.strictlyLegalMoves = moves;
+        }
+        return moves;
     }
 
+    /** Get the checkers and pinned pieces of the player's king
+     *
+     * @return the legal move generator of the player
+     */
+    public LegalMoveGenerator getLegalMoveGenerator() {
+        LegalMoveGenerator generator = this.legalMoveGenerator;
+        if (generator == null) { /* first access */
+            generator = new LegalMoveGenerator(this.board, getAlliance());
+            this.legalMoveGenerator = generator;
+        }
+        return generator;
+    }
 
     /** Gets the active pieces of a player
      *
@@ -188,19 +199,21 @@ public abstract class Player {
     public abstract Player getOpponent();
 
     /** Calculate the king castles
+     *
+     * <p>
+     * The tiles the king crosses are checked with {@link Board#isSquareAttacked}, the opponent's moves are not generated.
      *
      * @param playerLegals the player's legal moves
-     * @param opponentLegals the opponent's legal moves
      * @return a collection of legal moves
      */
-    protected  abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    protected  abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals);
 
     /** Check if the player has castle opportunities
      *
      * @return true if the player can castle on the king or queen side
      */
     protected boolean hasCastleOpportunities() {
-        return !this.isInCheck && !this.isCastled();
+        return !isInCheck() && !this.isCastled();
     }
 
     public int getMoveNumber() {
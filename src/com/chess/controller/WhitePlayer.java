@@ -13,17 +13,12 @@ import static com.chess.model.pieces.PieceType.ROOK;
 
 public class WhitePlayer extends Player {
 
-    private final Collection<Move> opponentLegals;
-
     /** Constructor
      *
      * @param board the board
-     * @param whiteStandardLegalMoves the white player's legal moves
-     * @param blackStandardLegalMoves the black player's legal moves
      */
-    public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves, final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.opponentLegals = blackStandardLegalMoves;
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -47,12 +42,10 @@ public class WhitePlayer extends Player {
 
     /**
      * @param playerLegals the player's legal moves
-     * @param opponentLegals Opponent's legal moves
      * @return the legal moves for the king castles
      */
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                    final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
 
         // If the king has no castle opportunities
         if(!hasCastleOpportunities()) {
@@ -65,14 +58,14 @@ public class WhitePlayer extends Player {
         if(this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == 60 && !this.isInCheck()) {
             //WHITE KING SIDE CASTLE
             // If the tiles on the kingside are not occupied
-            if(!this.board.getTile(61).isTileOccupied()  && !this.board.getTile(62).isTileOccupied()) {
+            if(!this.board.isTileOccupied(61)  && !this.board.isTileOccupied(62)) {
                 // Get the tile of the kingside rook
-                final Piece kingSideRook = this.board.getTile(63).getPiece();
+                final Piece kingSideRook = this.board.getPiece(63);
                 // If the rook has not moved and its tile is not occupied
                 if(kingSideRook != null && kingSideRook.isFirstMove()) {
                     // If the tiles on the kingside are not attacked
-                    if(Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
+                    if(!this.board.isSquareAttacked(61, Alliance.BLACK) &&
+                            !this.board.isSquareAttacked(62, Alliance.BLACK) &&
                             kingSideRook.getPieceType() == ROOK) {
                         // Add the move to the list of legal moves
                         if(!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 52)) {
@@ -85,15 +78,15 @@ public class WhitePlayer extends Player {
             }
             //WHITE QUEEN SIDE CASTLE
             // If the tiles on the queenside are not occupied
-            if(!this.board.getTile(59).isTileOccupied()  && !this.board.getTile(58).isTileOccupied() &&
-                    !this.board.getTile(57).isTileOccupied()) {
+            if(!this.board.isTileOccupied(59)  && !this.board.isTileOccupied(58) &&
+                    !this.board.isTileOccupied(57)) {
                 // Get the tile of the queenside rook
-                final Piece queenSideRook = this.board.getTile(56).getPiece();
+                final Piece queenSideRook = this.board.getPiece(56);
                 // If the rook has not moved and its tile is not occupied
                 if(queenSideRook != null && queenSideRook.isFirstMove()) {
                     // If the tiles on the queenside are not attacked
-                    if(Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
+                    if(!this.board.isSquareAttacked(58, Alliance.BLACK) &&
+                            !this.board.isSquareAttacked(59, Alliance.BLACK) &&
                             queenSideRook.getPieceType() == ROOK) {
                         // Add the move to the list of legal moves
                         if(!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 52)) {
@@ -1,16 +1,19 @@
 package com.chess.controller.ai;
 
-import com.chess.controller.Alliance;
 import com.chess.model.board.Board;
-import com.chess.model.board.BoardUtils;
 import com.chess.model.board.Move;
 import com.chess.model.board.Move.MoveFactory;
-import com.chess.controller.MoveTransition;
-import com.chess.controller.Player;
+import com.chess.model.board.MutableBoard;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Observable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 
 import static com.chess.model.board.BoardUtils.mvvlva;
@@ -35,10 +38,30 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
     private final MoveSorter moveSorter;
 
     /**
-     * quiescenceFactor is used to determine how many moves ahead the AI will look in quiescence search.
+     * The negamax search the root moves are searched with.
+     */
+    private final NegamaxSearch search;
+
+    /**
+     * The results of searched positions, which can be shared between searches.
+     */
+    private final TranspositionTable transpositionTable;
+
+    /**
+     * quiescenceFactor is the number of plies the quiescence search goes below the leaves.
      */
     private final int quiescenceFactor;
 
+    /**
+     * The number of threads the root moves are searched on, 1 searches them one after the other.
+     */
+    private final int parallelism;
+
+    /**
+     * The best value of the root shared by the threads of a parallel root search, null in a search of its own.
+     */
+    private final RootBound rootBound;
+
     /**
      * The number of boards evaluated.
      */
@@ -50,14 +73,19 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
     private long executionTime;
 
     /**
-     * The quiescenceCount is a count of the number of quiescence searches performed.
+     * The quiescenceCount is a count of the number of quiescence nodes searched for the current root move.
      */
-    private int quiescenceCount;
+    private long quiescenceCount;
 
     /**
      * The cutOffsProduced is a count of the number of cut-offs produced.
      */
-    private int cutOffsProduced;
+    private long cutOffsProduced;
+
+    /**
+     * The handle of the running search.
+     */
+    private SearchHandle handle;
 
 
     /**
@@ -99,19 +127,90 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
      * Constructor for the AlphaBetaWithMoveOrdering class.
      * @param searchDepth the depth to search to
      * @param quiescenceFactor the quiescence factor to use
-     * queisenceFactor is the number of moves to search before using the quiescence search
+     * queisenceFactor is the number of plies the quiescence search goes below the leaves, 0 evaluates the leaves as they are
      */
     public AlphaBetaWithMoveOrdering(final int searchDepth,
                                      final int quiescenceFactor) {
+        this(searchDepth, quiescenceFactor, new TranspositionTable());
+    }
+
+    /**
+     * Constructor for the AlphaBetaWithMoveOrdering class with a transposition table, which can be shared.
+     * @param searchDepth the depth to search to
+     * @param quiescenceFactor the quiescence factor to use
+     * @param transpositionTable the transposition table to use
+     */
+    public AlphaBetaWithMoveOrdering(final int searchDepth,
+                                     final int quiescenceFactor,
+                                     final TranspositionTable transpositionTable) {
+        this(searchDepth, quiescenceFactor, transpositionTable, 1);
+    }
+
+    /**
+     * Constructor for the AlphaBetaWithMoveOrdering class searching the root moves in parallel.
+     * The best ordered root move is searched first on its own, the others are then searched at the same time on a
+     * ForkJoinPool, each starting from the best value found so far.
+     * @param searchDepth the depth to search to
+     * @param quiescenceFactor the quiescence factor to use
+     * @param transpositionTable the transposition table to use, shared by the threads
+     * @param parallelism the number of threads, 1 searches the root moves one after the other
+     */
+    public AlphaBetaWithMoveOrdering(final int searchDepth,
+                                     final int quiescenceFactor,
+                                     final TranspositionTable transpositionTable,
+                                     final int parallelism) {
+        this(searchDepth, quiescenceFactor, transpositionTable, parallelism, null);
+    }
+
+    /**
+     * Constructor of a search of its own or of a thread of a parallel root search.
+     * @param searchDepth the depth to search to
+     * @param quiescenceFactor the quiescence factor to use
+     * @param transpositionTable the transposition table to use
+     * @param parallelism the number of threads
+     * @param rootBound the best value of the root shared by the threads, null in a search of its own
+     */
+    private AlphaBetaWithMoveOrdering(final int searchDepth,
+                                      final int quiescenceFactor,
+                                      final TranspositionTable transpositionTable,
+                                      final int parallelism,
+                                      final RootBound rootBound) {
+        if (parallelism < 1) {
+            throw new RuntimeException("A search needs at least one thread!");
+        }
+        this.parallelism = parallelism; // The number of threads the root moves are searched on
         this.evaluator = StandardBoardEvaluator.get();
         this.searchDepth = searchDepth;
-        this.quiescenceFactor = quiescenceFactor; // Quiescence factor is the number of moves to search before using the quiescence search which is a search that only looks at captures
+        this.quiescenceFactor = quiescenceFactor; // Quiescence factor is the number of plies the quiescence search, which only looks at captures, goes below the leaves
         this.moveSorter = MoveSorter.SORT; // The move sorter is an enum that determines how the moves are sorted
+        this.transpositionTable = transpositionTable; // The results of searched positions
+        this.rootBound = rootBound; // The best value of the root, null in a search of its own
+        this.search = new NegamaxSearch.Builder()
+                .setEvaluator(this.evaluator)
+                .setTranspositionTable(transpositionTable)
+                .setQuiescenceDepth(quiescenceFactor)
+                .setNullMovePruning(true)
+                .setLateMoveReductions(true)
+                .setRootBound(rootBound == null ? null : rootBound::get)
+                .build(); // The negamax search, with its own move lists
+        this.handle = SearchHandle.unlimited(); // No limits until a search is started with a handle
         this.boardsEvaluated = 0; // The number of boards evaluated
-        this.quiescenceCount = 0; // The number of times quiescence search was used
+        this.quiescenceCount = 0; // The number of quiescence nodes of the current root move
         this.cutOffsProduced = 0; // The number of times the alpha-beta pruning algorithm cut off a branch
     }
 
+    /**
+     * Constructor of a thread of a parallel root search.
+     * @param parent the search the root moves belong to
+     * @param rootBound the best value of the root, shared by the threads
+     */
+    private AlphaBetaWithMoveOrdering(final AlphaBetaWithMoveOrdering parent,
+                                      final RootBound rootBound) {
+        this(parent.searchDepth, parent.quiescenceFactor, parent.transpositionTable, 1, rootBound);
+        this.handle = parent.handle; // The threads stop together
+        this.search.start(parent.handle, Long.MAX_VALUE); // and count their work from zero
+    }
+
     @Override
     public String toString() {
         return "AB+MO";
@@ -125,40 +224,51 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
 
     @Override
     public Move execute(final Board board) {
+        return execute(board, SearchHandle.unlimited());
+    }
+
+    @Override
+    public Move execute(final Board board, final SearchHandle handle) {
         final long startTime = System.currentTimeMillis();      // start the timer
-        final Player currentPlayer = board.currentPlayer();     // get the current player
-        final Alliance alliance = currentPlayer.getAlliance();  // get the alliance of the current player
+        this.handle = handle;                                   // the handle the search looks at
+        this.search.start(handle, Long.MAX_VALUE);              // no nodes searched yet, not stopped yet
+        if (this.parallelism > 1) {                             // search the root moves at the same time
+            return executeParallel(board, handle, startTime);
+        }
         Move bestMove = MoveFactory.getNullMove();              // set the best move to null
-        int highestSeenValue = Integer.MIN_VALUE;               // set the highest seen value to the minimum integer value
-        int lowestSeenValue = Integer.MAX_VALUE;                // set the lowest seen value to the maximum integer value
+        int highestSeenValue = -NegamaxSearch.INFINITY;         // the best value for the current player seen so far
         int currentValue;                                       // declare the current value
         int moveCounter = 1;                                    // declare the move counter and set it to 1
+        boolean principal = true;                               // the first legal move is searched with the full window
 
         final int numMoves = this.moveSorter.sort(board.currentPlayer().getLegalMoves()).size();    // get the number of legal moves
+        final MutableBoard searchBoard = new MutableBoard(board);                                   // the board the search makes and unmakes moves on
+        final int[] searchMoves = new int[MutableBoard.MAX_MOVES];                                  // the moves of the search board
+        final int numSearchMoves = searchBoard.generateMoves(searchMoves, 0);                       // get the moves of the search board
         System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);   // print the current player and the depth
         System.out.println("\tOrdered moves! : " + this.moveSorter.sort(board.currentPlayer().getLegalMoves()));      // print the ordered moves
         for (final Move move : this.moveSorter.sort(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);     // make the move
-            this.quiescenceCount = 0;                                                       // reset the quiescence count
+            final int searchMove = MoveFactory.encode(move);                               // the move on the search board
+            final long quiescenceNodes = this.search.getQuiescenceNodes();                 // the quiescence nodes before the move
             final String s;                                                                 // declare the string
-            if (moveTransition.getMoveStatus().isDone()) {
+            if (contains(searchMoves, numSearchMoves, searchMove) && searchBoard.makeMove(searchMove)) {   // if the move is legal it is made
                 final long candidateMoveStartTime = System.nanoTime();                      // start the timer
-                currentValue = alliance.isWhite() ?                                         // get the current value
-                        min(moveTransition.getTransitionBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue) : // if the alliance is white
-                        max(moveTransition.getTransitionBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue);  // if the alliance is black
-                if (alliance.isWhite() && currentValue > highestSeenValue) {
-                    highestSeenValue = currentValue;              // set the highest seen value to the current value
-                    bestMove = move;                              // set the best move to the current move
-                    setChanged();
-                    notifyObservers(bestMove);
+                currentValue = this.search.searchMove(searchBoard, this.searchDepth - 1,   // the value of the move for the current player
+                        highestSeenValue, NegamaxSearch.INFINITY, principal);
+                searchBoard.unmakeMove();                                                   // take the move back
+                this.quiescenceCount = this.search.getQuiescenceNodes() - quiescenceNodes;  // the quiescence nodes of the move
+                principal = false;                                                          // the other moves only have to beat it
+                if (this.search.isStopped()) {                                              // the move was not searched to the end
+                    break;
                 }
-                else if (alliance.isBlack() && currentValue < lowestSeenValue) {
-                    lowestSeenValue = currentValue;               // set the lowest seen value to the current value
+                if (currentValue > highestSeenValue) {
+                    highestSeenValue = currentValue;              // set the highest seen value to the current value
                     bestMove = move;                              // set the best move to the current move
+                    handle.update(bestMove);                      // publish the best move found so far
                     setChanged();
                     notifyObservers(bestMove);
                 }
-                final String quiescenceInfo = " [h: " +highestSeenValue+ " l: " +lowestSeenValue+ "] q: " +this.quiescenceCount;   // get the quiescence info which:
+                final String quiescenceInfo = " [score: " +highestSeenValue+ "] q: " +this.quiescenceCount;   // get the quiescence info which:
                 s = "\t" + toString() + "(" +this.searchDepth+ "), m: (" +moveCounter+ "/" +numMoves+ ") " + move + ", best:  " + bestMove // gets the best move and the current move and the number of moves and the move counter and the search depth
                         + quiescenceInfo + ", t: " +calculateTimeTaken(candidateMoveStartTime, System.nanoTime());                 // gets the time taken to make the move and the quiescence info
             } else {
@@ -169,70 +279,114 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
             notifyObservers(s);         // notify the observers
             moveCounter++;              // increment the move counter
         }
-        this.executionTime = System.currentTimeMillis() - startTime;    // get the execution time
+        this.boardsEvaluated += this.search.getBoardsEvaluated();      // count the work of the search
+        this.cutOffsProduced += this.search.getCutOffsProduced();
+        this.executionTime = Math.max(System.currentTimeMillis() - startTime, 1);    // get the execution time
         System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, eval rate = %.1f cutoffCount = %d prune percent = %.2f\n", board.currentPlayer(),
                 bestMove, this.boardsEvaluated, this.executionTime, (1000 * ((double)this.boardsEvaluated/this.executionTime)), this.cutOffsProduced, 100 * ((double)this.cutOffsProduced/this.boardsEvaluated));
         return bestMove;        // return the best move
     }
 
-    public int max(final Board board,                       // the board
-                   final int depth,                         // the depth
-                   final int highest,                       // the highest value
-                   final int lowest) {                      // the lowest value
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;                         // increment the boards evaluated
-            return this.evaluator.evaluate(board, depth);   // return the evaluation of the board
+    /**
+     * Searches the root moves on a ForkJoinPool.
+     * The eldest root move is searched alone to set the bound the others start from. The others are then searched as
+     * tasks of their own, and every task that beats the shared bound raises it. Nodes right below the root look at the
+     * bound after each move, so a task stops searching as soon as its move can no longer be the best.
+     *
+     * @param board the board
+     * @param handle the handle the threads look at
+     * @param startTime the time the search started
+     * @return the best move
+     */
+    private Move executeParallel(final Board board,
+                                 final SearchHandle handle,
+                                 final long startTime) {
+        final MutableBoard searchBoard = new MutableBoard(board);                                   // the board the eldest move is searched on
+        final int[] searchMoves = new int[MutableBoard.MAX_MOVES];                                  // the moves of the search board
+        final int numSearchMoves = searchBoard.generateMoves(searchMoves, 0);                       // get the moves of the search board
+        final List<Move> rootMoves = new ArrayList<>();                                            // the legal moves, best ordered first
+        for (final Move move : this.moveSorter.sort(board.currentPlayer().getLegalMoves())) {
+            final int searchMove = MoveFactory.encode(move);
+            if (contains(searchMoves, numSearchMoves, searchMove) && searchBoard.makeMove(searchMove)) {
+                searchBoard.unmakeMove();
+                rootMoves.add(move);
+            }
         }
-        int currentHighest = highest;                       // set the current highest to the highest
-        for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {         // for each move in the ordered moves
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);                 // make the move
-            if (moveTransition.getMoveStatus().isDone()) {                                              // if the move is done
-                currentHighest = Math.max(currentHighest, min(moveTransition.getTransitionBoard(),      // set the current highest to the maximum of the current highest and the minimum of the transition board
-                        calculateQuiescenceDepth(board, move, depth), currentHighest, lowest));         // and the quiescence depth and the current highest and the lowest
-                if (lowest <= currentHighest) {         // if the lowest is less than or equal to the current highest
-                    this.cutOffsProduced++;             // increment the cut-offs produced
-                    break;
-                }
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth + " on " + this.parallelism + " threads");
+        if (rootMoves.isEmpty()) {                                                                  // checkmate or stalemate
+            return MoveFactory.getNullMove();
+        }
+        final Move eldestMove = rootMoves.get(0);                                                   // the eldest move sets the bound
+        searchBoard.makeMove(MoveFactory.encode(eldestMove));
+        final int eldestValue = this.search.searchMove(searchBoard, this.searchDepth - 1,
+                -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY, true);
+        searchBoard.unmakeMove();
+        handle.update(eldestMove);
+        this.boardsEvaluated += this.search.getBoardsEvaluated();
+        this.cutOffsProduced += this.search.getCutOffsProduced();
+        final RootBound bound = new RootBound(eldestValue, eldestMove);                            // shared by the threads
+        if (!this.search.isStopped() && rootMoves.size() > 1) {
+            final Queue<AlphaBetaWithMoveOrdering> workers = new ConcurrentLinkedQueue<>();       // one search per thread
+            final ThreadLocal<AlphaBetaWithMoveOrdering> worker = ThreadLocal.withInitial(() -> {
+                final AlphaBetaWithMoveOrdering search = new AlphaBetaWithMoveOrdering(this, bound);
+                workers.add(search);
+                return search;
+            });
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (final Move move : rootMoves.subList(1, rootMoves.size())) {
+                tasks.add(ForkJoinTask.adapt(() -> worker.get().searchRootMove(board, move)));
+            }
+            final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+            try {
+                pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+            } finally {
+                pool.shutdown();
+            }
+            for (final AlphaBetaWithMoveOrdering search : workers) {                               // count the work of the threads
+                this.boardsEvaluated += search.search.getBoardsEvaluated();
+                this.cutOffsProduced += search.search.getCutOffsProduced();
             }
         }
-        return currentHighest;                          // return the current highest
+        final Move bestMove = bound.getBestMove();
+        this.executionTime = Math.max(System.currentTimeMillis() - startTime, 1);                  // get the execution time
+        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, eval rate = %.1f cutoffCount = %d\n", board.currentPlayer(),
+                bestMove, this.boardsEvaluated, this.executionTime, (1000 * ((double)this.boardsEvaluated/this.executionTime)), this.cutOffsProduced);
+        return bestMove;
     }
 
-    public int min(final Board board,                   // the board
-                   final int depth,                     // the depth
-                   final int highest,                   // the highest value
-                   final int lowest) {                  // the lowest value
-        if (depth == 0 || BoardUtils.isEndGame(board)) {    // if the depth is 0 or the board is in an end game
-            this.boardsEvaluated++;                         // increment the boards evaluated
-            return this.evaluator.evaluate(board, depth);   // return the evaluation of the board
-        }
-        int currentLowest = lowest;                         // set the current lowest to the lowest
-        for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);          // make the move
-            if (moveTransition.getMoveStatus().isDone()) {                                       // if the move is done
-                currentLowest = Math.min(currentLowest, max(moveTransition.getTransitionBoard(), // set the current lowest to the minimum of the current lowest and the maximum of the transition board
-                        calculateQuiescenceDepth(board, move, depth), highest, currentLowest));  // and the quiescence depth and the highest and the current lowest
-                if (currentLowest <= highest) {      // if the current lowest is less than or equal to the highest
-                    this.cutOffsProduced++;          // increment the cut-offs produced
-                    break;
-                }
-            }
+    /**
+     * Searches a root move on a thread of a parallel root search, raising the shared bound if the move beats it.
+     * The move only has to prove it beats the bound, so it is searched with a null window first.
+     *
+     * @param board the board of the root
+     * @param move the root move
+     */
+    private void searchRootMove(final Board board,
+                                final Move move) {
+        final MutableBoard searchBoard = new MutableBoard(board);                                   // every task searches on a board of its own
+        searchBoard.makeMove(MoveFactory.encode(move));
+        final int value = this.search.searchMove(searchBoard, this.searchDepth - 1, this.rootBound.get(),
+                NegamaxSearch.INFINITY, false);
+        if (!this.search.isStopped() && this.rootBound.offer(value, move)) {                        // a stopped search proves nothing
+            this.handle.update(move);
         }
-        return currentLowest;                        // return the current lowest
     }
 
     /**
-     * Calculates the quiescence depth.
+     * Checks if a move was generated.
      *
-     * @param board the board
+     * @param moves the generated moves
+     * @param count the number of moves
      * @param move the move
-     * @param depth the depth
-     * @return the quiescence depth
+     * @return true if the move is one of the moves
      */
-    private int calculateQuiescenceDepth(final Board board,  // the board
-                                         final Move move,    // the move
-                                         final int depth) {  // the depth
-        return depth - 1;                                    // return the depth minus 1
+    private static boolean contains(final int[] moves, final int count, final int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -247,5 +401,60 @@ public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrateg
         return timeTaken + " ms";                                                 // return the time taken
     }
 
+    /**
+     * The best value and move of the root of a parallel root search, shared by its threads.
+     */
+    private static final class RootBound {
+
+        /**
+         * The best value found so far, from the side of the root.
+         */
+        private volatile int value;
+
+        /**
+         * The move of the best value.
+         */
+        private Move bestMove;
+
+        /**
+         * Constructor for the RootBound class.
+         * @param value the value of the eldest move
+         * @param bestMove the eldest move
+         */
+        RootBound(final int value, final Move bestMove) {
+            this.value = value;
+            this.bestMove = bestMove;
+        }
+
+        /**
+         * Gets the best value found so far.
+         * @return the value
+         */
+        int get() {
+            return this.value;
+        }
+
+        /**
+         * Offers the value of a root move, which becomes the best if it beats the best value found so far.
+         * @param value the value
+         * @param move the move
+         * @return true if the move is the new best move
+         */
+        synchronized boolean offer(final int value, final Move move) {
+            if (value > this.value) {
+                this.value = value;
+                this.bestMove = move;
+                return true;
+            }
+            return false;
+        }
 
-}
\ No newline at end of file
+        /**
+         * Gets the best move found so far.
+         * @return the move
+         */
+        synchronized Move getBestMove() {
+            return this.bestMove;
+        }
+    }
+}
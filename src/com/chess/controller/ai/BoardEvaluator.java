@@ -1,6 +1,7 @@
 package com.chess.controller.ai;
 
 import com.chess.model.board.Board;
+import com.chess.model.board.MutableBoard;
 
 public interface BoardEvaluator {
 
@@ -12,4 +13,13 @@ public interface BoardEvaluator {
      */
     int evaluate(Board board, int depth);
 
+    /**
+     * This method returns the score of a search board
+     *
+     * @param board The search board
+     * @param depth The remaining depth
+     * @return the score of the board
+     */
+    int evaluate(MutableBoard board, int depth);
+
 }
@@ -0,0 +1,362 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.board.MutableBoard;
+import com.chess.controller.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Observable;
+import java.util.stream.Collectors;
+
+import static com.chess.model.board.BoardUtils.mvvlva;
+import static com.chess.model.board.Move.MoveFactory;
+
+/**
+ * AI that searches one ply deeper at a time until it reaches its depth or runs out of time.
+ * <p>
+ * Every iteration is an alpha-beta search of the whole tree. The iterations before the last one are cheap compared to
+ * it, and they leave their best moves in the transposition table and at the front of the root moves, so the next
+ * iteration tries the best moves first. When the time control runs out in the middle of an iteration the iteration is
+ * dropped and the best move of the last completed one is played. The same happens when the search is stopped through
+ * its {@link SearchHandle}.
+ * <p>
+ * From {@link #ASPIRATION_DEPTH} on, an iteration searches the root with a narrow window around the value of an
+ * earlier one, which cuts off more nodes at every depth. When the value falls outside the window the root is searched again
+ * with the window widened on that side, twice as much every time.
+ */
+public class IterativeDeepening extends Observable implements MoveStrategy {
+
+    /** The depth from which the iterations search with an aspiration window */
+    public static final int ASPIRATION_DEPTH = 3;
+    /** How far the first aspiration window reaches on both sides of the value of the last iteration */
+    public static final int ASPIRATION_WINDOW = 50;
+    /** How far an aspiration window may reach before that side is opened completely */
+    public static final int MAX_ASPIRATION_WINDOW = 1600;
+
+    /** The length of the runs of searched and skipped depths of the helpers of a parallel search */
+    private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+    /** The depth the runs of searched and skipped depths of the helpers of a parallel search start at */
+    private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+    /** The deepest iteration */
+    private final int searchDepth;
+    /** The time the search may spend */
+    private final TimeControl timeControl;
+    /** The negamax search of the iterations, its transposition table is shared by the iterations */
+    private final NegamaxSearch search;
+    /** The number of the thread in a parallel search, 0 for the main thread */
+    private final int helperIndex;
+
+    /** The depth of the last completed iteration */
+    private int completedDepth;
+    /** The number of root searches of the last search that failed high and were searched again */
+    private int aspirationFailHighs;
+    /** The number of root searches of the last search that failed low and were searched again */
+    private int aspirationFailLows;
+
+    /** Constructor
+     *
+     * @param searchDepth the deepest iteration
+     */
+    public IterativeDeepening(final int searchDepth) {
+        this(searchDepth, TimeControl.NONE);
+    }
+
+    /** Constructor
+     *
+     * @param searchDepth the deepest iteration
+     * @param timeControl the time the search may spend
+     */
+    public IterativeDeepening(final int searchDepth, final TimeControl timeControl) {
+        this(searchDepth, timeControl, new TranspositionTable());
+    }
+
+    /** Constructor with a transposition table, which can be shared
+     *
+     * @param searchDepth the deepest iteration
+     * @param timeControl the time the search may spend
+     * @param transpositionTable the transposition table
+     */
+    public IterativeDeepening(final int searchDepth,
+                              final TimeControl timeControl,
+                              final TranspositionTable transpositionTable) {
+        this(searchDepth, timeControl, transpositionTable, 0);
+    }
+
+    /** Constructor of a thread of a parallel search
+     * <p>
+     * Helpers skip some depths and start on another root move than the main thread, so the threads search different
+     * parts of the tree and fill the shared transposition table with results the others can use.
+     *
+     * @param searchDepth the deepest iteration
+     * @param timeControl the time the search may spend
+     * @param transpositionTable the transposition table, shared by the threads
+     * @param helperIndex the number of the thread, 0 for the main thread
+     */
+    IterativeDeepening(final int searchDepth,
+                       final TimeControl timeControl,
+                       final TranspositionTable transpositionTable,
+                       final int helperIndex) {
+        if (searchDepth < 1) {
+            throw new RuntimeException("The search depth must be at least 1!");
+        }
+        this.searchDepth = Math.min(searchDepth, MoveStack.MAX_SEARCH_PLY - 1);
+        this.timeControl = timeControl;
+        this.search = new NegamaxSearch.Builder()
+                .setTranspositionTable(transpositionTable)
+                .setNullMovePruning(true)
+                .setLateMoveReductions(true)
+                .build();
+        this.helperIndex = helperIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "ID";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.search.getBoardsEvaluated();
+    }
+
+    /** Gets the depth of the last completed iteration
+     *
+     * @return the depth the played move was searched to
+     */
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    /** Gets the number of times the last search found the value of the root above its aspiration window
+     *
+     * @return the number of root searches that failed high
+     */
+    public int getAspirationFailHighs() {
+        return this.aspirationFailHighs;
+    }
+
+    /** Gets the number of times the last search found the value of the root below its aspiration window
+     *
+     * @return the number of root searches that failed low
+     */
+    public int getAspirationFailLows() {
+        return this.aspirationFailLows;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, SearchHandle.unlimited());
+    }
+
+    @Override
+    public Move execute(final Board board, final SearchHandle handle) {
+        final long startTime = System.currentTimeMillis();
+        final Player currentPlayer = board.currentPlayer();
+        final MutableBoard searchBoard = new MutableBoard(board);
+        final List<Move> rootMoves = legalRootMoves(board, searchBoard);
+        this.completedDepth = 0;
+        this.aspirationFailHighs = 0;
+        this.aspirationFailLows = 0;
+        this.search.start(handle, this.timeControl == TimeControl.NONE ? Long.MAX_VALUE :
+                startTime + this.timeControl.getHardLimit());
+        if (isMainThread()) {
+            System.out.println(currentPlayer + " THINKING with depth = " + this.searchDepth + ", " + this.timeControl);
+        }
+        if (rootMoves.isEmpty()) {
+            return MoveFactory.getNullMove();
+        }
+        Move bestMove = rootMoves.get(0);   /* something to play if not even the first iteration completes */
+        handle.update(bestMove);
+        if (rootMoves.size() == 1) {        /* nothing to choose */
+            return bestMove;
+        }
+        if (!isMainThread()) {              /* start on another move than the main thread */
+            Collections.rotate(rootMoves, -(this.helperIndex % rootMoves.size()));
+        }
+        long lastIteration = 0;
+        long previousIteration = 0;
+        final int[] iterationValues = new int[this.searchDepth + 1];
+        final boolean[] completed = new boolean[this.searchDepth + 1];
+        for (int depth = 1; depth <= this.searchDepth; depth++) {
+            if (skipsDepth(depth)) {
+                continue;
+            }
+            final long elapsed = System.currentTimeMillis() - startTime;
+            if (depth > 1 && (handle.isStopped() ||
+                    !this.timeControl.canStartIteration(elapsed, lastIteration, previousIteration))) {
+                break;
+            }
+            final long iterationStart = System.currentTimeMillis();
+            int window = ASPIRATION_WINDOW;
+            int alpha = -NegamaxSearch.INFINITY;
+            int beta = NegamaxSearch.INFINITY;
+            final int center = aspirationDepth(completed, depth);
+            if (center > 0) {
+                alpha = widen(iterationValues[center], -window);
+                beta = widen(iterationValues[center], window);
+            }
+            Move iterationBest;
+            int bestValue;
+            while (true) {
+                iterationBest = null;
+                bestValue = -NegamaxSearch.INFINITY;
+                for (final Move move : rootMoves) {
+                    searchBoard.makeMove(MoveFactory.encode(move));
+                    final int value = this.search.searchMove(searchBoard, depth - 1, Math.max(bestValue, alpha), beta,
+                            iterationBest == null);
+                    searchBoard.unmakeMove();
+                    if (this.search.isStopped()) {
+                        break;
+                    }
+                    if (value > bestValue) {
+                        bestValue = value;
+                        iterationBest = move;
+                    }
+                    if (bestValue >= beta) {
+                        break;
+                    }
+                }
+                if (this.search.isStopped()) {
+                    break;
+                }
+                window *= 2;
+                if (bestValue <= alpha && alpha > -NegamaxSearch.INFINITY) {
+                    this.aspirationFailLows++;
+                    alpha = window > MAX_ASPIRATION_WINDOW ? -NegamaxSearch.INFINITY : widen(bestValue, -window);
+                } else if (bestValue >= beta && beta < NegamaxSearch.INFINITY) {
+                    this.aspirationFailHighs++;
+                    beta = window > MAX_ASPIRATION_WINDOW ? NegamaxSearch.INFINITY : widen(bestValue, window);
+                    rootMoves.remove(iterationBest);    /* the search again tries the move that failed high first */
+                    rootMoves.add(0, iterationBest);
+                } else {
+                    break;
+                }
+            }
+            if (this.search.isStopped()) {  /* the iteration did not complete, keep the last result */
+                break;
+            }
+            iterationValues[depth] = bestValue;
+            completed[depth] = true;
+            bestMove = iterationBest;
+            handle.update(bestMove);
+            this.completedDepth = depth;
+            rootMoves.remove(iterationBest);    /* the next iteration tries the best move first */
+            rootMoves.add(0, iterationBest);
+            previousIteration = lastIteration;
+            lastIteration = System.currentTimeMillis() - iterationStart;
+            if (isMainThread()) {
+                final String s = "\t" + toString() + "(" + depth + "), best: " + bestMove + " [score: " +
+                        bestValue + "] nodes: " + this.search.getNodes() + ", t: " +
+                        lastIteration + " ms";
+                System.out.println(s);
+                setChanged();
+                notifyObservers(s);
+            }
+        }
+        if (!isMainThread()) {
+            return bestMove;
+        }
+        final long executionTime = Math.max(System.currentTimeMillis() - startTime, 1);
+        System.out.printf("%s SELECTS %s [depth = %d, #boards evaluated = %d, time taken = %d ms, rate = %.1f\n",
+                currentPlayer, bestMove, this.completedDepth, this.search.getBoardsEvaluated(), executionTime,
+                (1000 * ((double) this.search.getBoardsEvaluated() / executionTime)));
+        return bestMove;
+    }
+
+    /** Gets the iteration the aspiration window of an iteration is centered on. The evaluation swings between odd
+     * and even depths, whichever side moves last, so the window is centered on the last completed iteration of the
+     * same parity, or else on the last completed iteration.
+     *
+     * @param completed the completed iterations by depth
+     * @param depth the depth of the iteration
+     * @return the depth of the iteration to center on, 0 to search without a window
+     */
+    private static int aspirationDepth(final boolean[] completed, final int depth) {
+        if (depth < ASPIRATION_DEPTH) {
+            return 0;
+        }
+        for (int previous = depth - 2; previous > 0; previous -= 2) {
+            if (completed[previous]) {
+                return previous;
+            }
+        }
+        return completed[depth - 1] ? depth - 1 : 0;
+    }
+
+    /** Moves a bound of an aspiration window away from a value
+     *
+     * @param value the value
+     * @param window the distance, negative for a lower bound
+     * @return the bound, within the values of the search
+     */
+    private static int widen(final int value, final int window) {
+        return (int) Math.max(-NegamaxSearch.INFINITY, Math.min(NegamaxSearch.INFINITY, (long) value + window));
+    }
+
+    /** Checks if this is the main thread of a search
+     *
+     * @return true for a search of its own and for the main thread of a parallel search
+     */
+    private boolean isMainThread() {
+        return this.helperIndex == 0;
+    }
+
+    /** Checks if a helper skips an iteration
+     * <p>
+     * Every helper searches runs of depths and skips runs of the same length, starting at its own phase, so at most
+     * depths some of the helpers are one iteration ahead of the main thread.
+     *
+     * @param depth the depth of the iteration
+     * @return true if the iteration is skipped
+     */
+    private boolean skipsDepth(final int depth) {
+        if (isMainThread() || depth == this.searchDepth) {
+            return false;
+        }
+        final int index = (this.helperIndex - 1) % SKIP_SIZE.length;
+        return ((depth + SKIP_PHASE[index]) / SKIP_SIZE[index]) % 2 != 0;
+    }
+
+    /** Gets the legal moves of the root, captures first
+     *
+     * @param board the board
+     * @param searchBoard the search board of the board
+     * @return the legal moves
+     */
+    private static List<Move> legalRootMoves(final Board board, final MutableBoard searchBoard) {
+        final int[] searchMoves = new int[MutableBoard.MAX_MOVES];
+        final int numSearchMoves = searchBoard.generateMoves(searchMoves, 0);
+        final List<Move> legalMoves = new ArrayList<>();
+        for (final Move move : board.currentPlayer().getLegalMoves().stream()
+                .sorted(Comparator.comparingInt((Move move) -> mvvlva(move)).reversed())
+                .collect(Collectors.toList())) {
+            final int searchMove = MoveFactory.encode(move);
+            if (contains(searchMoves, numSearchMoves, searchMove) && searchBoard.makeMove(searchMove)) {
+                searchBoard.unmakeMove();
+                legalMoves.add(move);
+            }
+        }
+        return legalMoves;
+    }
+
+    /** Checks if a move was generated
+     *
+     * @param moves the generated moves
+     * @param count the number of moves
+     * @param move the move
+     * @return true if the move is one of the moves
+     */
+    private static boolean contains(final int[] moves, final int count, final int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
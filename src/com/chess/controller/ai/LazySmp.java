@@ -0,0 +1,130 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+
+import java.util.Observable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * AI that searches the same root on several threads sharing one transposition table.
+ * <p>
+ * The main thread is an {@link IterativeDeepening} search under the time control. The helpers run iterative deepening
+ * searches of their own without a time limit, each skipping other depths and starting on another root move, until the
+ * main thread returns. They never report a move: their work reaches the main thread through the transposition table,
+ * which cuts off the nodes they already searched and orders the moves by their results. Every thread has its own
+ * search board, move lists and counters; the evaluator keeps no state and is shared.
+ */
+public class LazySmp extends Observable implements MoveStrategy {
+
+    /** The main search */
+    private final IterativeDeepening mainSearch;
+    /** The helper searches */
+    private final IterativeDeepening[] helpers;
+
+    /** Constructor, one thread per processor
+     *
+     * @param searchDepth the deepest iteration of the main thread
+     * @param timeControl the time the search may spend
+     */
+    public LazySmp(final int searchDepth, final TimeControl timeControl) {
+        this(searchDepth, timeControl, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Constructor
+     *
+     * @param searchDepth the deepest iteration of the main thread
+     * @param timeControl the time the search may spend
+     * @param threadCount the number of threads, the main thread included
+     */
+    public LazySmp(final int searchDepth, final TimeControl timeControl, final int threadCount) {
+        this(searchDepth, timeControl, threadCount, new TranspositionTable());
+    }
+
+    /** Constructor with a transposition table, which can be shared
+     *
+     * @param searchDepth the deepest iteration of the main thread
+     * @param timeControl the time the search may spend
+     * @param threadCount the number of threads, the main thread included
+     * @param transpositionTable the transposition table
+     */
+    public LazySmp(final int searchDepth,
+                   final TimeControl timeControl,
+                   final int threadCount,
+                   final TranspositionTable transpositionTable) {
+        if (threadCount < 1) {
+            throw new RuntimeException("A search needs at least one thread!");
+        }
+        this.mainSearch = new IterativeDeepening(searchDepth, timeControl, transpositionTable, 0);
+        this.helpers = new IterativeDeepening[threadCount - 1];
+        for (int i = 0; i < this.helpers.length; i++) {
+            this.helpers[i] = new IterativeDeepening(MoveStack.MAX_SEARCH_PLY - 1, TimeControl.NONE,
+                    transpositionTable, i + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LazySMP(" + (this.helpers.length + 1) + ")";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        long boardsEvaluated = this.mainSearch.getNumBoardsEvaluated();
+        for (final IterativeDeepening helper : this.helpers) {
+            boardsEvaluated += helper.getNumBoardsEvaluated();
+        }
+        return boardsEvaluated;
+    }
+
+    /** Gets the number of root searches of all threads that fell outside their aspiration window and were searched
+     * again
+     *
+     * @return the number of root searches that failed high or low
+     */
+    public int getAspirationResearches() {
+        int researches = this.mainSearch.getAspirationFailHighs() + this.mainSearch.getAspirationFailLows();
+        for (final IterativeDeepening helper : this.helpers) {
+            researches += helper.getAspirationFailHighs() + helper.getAspirationFailLows();
+        }
+        return researches;
+    }
+
+    /** Gets the depth of the last iteration the main thread completed
+     *
+     * @return the depth the played move was searched to
+     */
+    public int getCompletedDepth() {
+        return this.mainSearch.getCompletedDepth();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, SearchHandle.unlimited());
+    }
+
+    @Override
+    public Move execute(final Board board, final SearchHandle handle) {
+        board.currentPlayer().getLegalMoves();      /* the moves of the board are calculated before the threads share it */
+        final SearchHandle[] helperHandles = new SearchHandle[this.helpers.length];
+        for (int i = 0; i < this.helpers.length; i++) {
+            helperHandles[i] = SearchHandle.unlimited().start(this.helpers[i], board);
+        }
+        try {
+            return this.mainSearch.execute(board, handle);
+        } finally {
+            for (final SearchHandle helperHandle : helperHandles) {
+                helperHandle.stop();
+            }
+            for (final SearchHandle helperHandle : helperHandles) {     /* the next search starts on a quiet table */
+                try {
+                    helperHandle.get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        }
+    }
+}
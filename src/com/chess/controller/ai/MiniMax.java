@@ -4,7 +4,6 @@ import com.chess.model.board.Board;
 import com.chess.model.board.Move;
 import com.chess.controller.MoveStatus;
 import com.chess.controller.MoveTransition;
-import com.chess.controller.Player;
 
 import java.util.Collection;
 import java.util.Observable;
@@ -40,8 +39,7 @@ public class MiniMax extends Observable implements MoveStrategy{
 
         Move bestMove = null; //The best move to be returned
 
-        int highestSeenValue = Integer.MIN_VALUE; //The highest value seen so far
-        int lowestSeenValue = Integer.MAX_VALUE; //The lowest value seen so far
+        int highestSeenValue = Integer.MIN_VALUE; //The highest value seen so far, for the current player
 
         int currentValue; //The current value of the move being evaluated
 
@@ -64,34 +62,14 @@ public class MiniMax extends Observable implements MoveStrategy{
 
 
             if(moveStatus.isDone()) { //If the move was legal
-                //Get the current player
-                final Player currentPlayer = board.currentPlayer();
+                //The value of the board after the move for the opponent, negated, -1 because we have already made a move
+                currentValue = -negamax(tempBoard, this.searchDepth - 1);
 
-                currentValue = currentPlayer.getAlliance().isWhite() ? //If, the current player is white
-                             min(tempBoard, this.searchDepth - 1) : //Call min, -1 because we have already made a move
-                              max(tempBoard, this.searchDepth - 1); // Else if the player is black, Call max
-
-                //If the current player is white AND the current value is greater than the highest value seen so far
-                if(currentPlayer.getAlliance().isWhite() && currentValue >= highestSeenValue) {
+                //If the current value is at least the highest value seen so far
+                if(currentValue >= highestSeenValue) {
                     highestSeenValue = currentValue; //Set the highest value seen so far to the current value
                     bestMove = move; //Set the best move to the current move
                 }
-                //If the current player is black AND the current value is less than the lowest value seen so far
-                else if(currentPlayer.getAlliance().isBlack() && currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue; //Set the lowest value seen so far to the current value
-                    bestMove = move; //Set the best move to the current move
-                }
-                else if(currentPlayer.getAlliance().isWhite() && currentValue < highestSeenValue) {
-                    // Prune
-                    System.out.println("Pruning move " + moveCounter + " of " + numMoves + " moves");
-                }
-                else if(currentPlayer.getAlliance().isBlack() && currentValue > lowestSeenValue) {
-                    // Print out the move that was pruned or not evaluated
-                    System.out.println("Pruning move " + moveCounter + " of " + numMoves + " moves");
-                }
-                else {
-                    System.out.println("Error");
-                }
             }
             moveCounter++; //Increment the number of moves evaluated so far
             System.out.println("Move " + moveCounter + " of " + numMoves + " evaluated.");
@@ -108,60 +86,23 @@ public class MiniMax extends Observable implements MoveStrategy{
     }
 
     /**
-     *  This method is the heart of the MiniMax algorithm. It is part of a corecursive pattern that
-     *  will be used to traverse the game tree. The method will return the best move for the player
-     *  that is passed in as a parameter. The searchDepth parameter is used to determine how many moves
-     *  ahead the algorithm will look.
+     *  This method is the heart of the MiniMax algorithm, in its negamax form. The value of a board for the
+     *  player to move is the highest of the values of the boards after its moves, each of which is the value of
+     *  that board for the opponent, negated. The searchDepth parameter is used to determine how many moves
+     *  ahead the algorithm will look. Every node is visited, nothing is pruned.
      *
      * @param board the board
      * @param searchDepth the searchDepth of the search
-     * @return the lowest score found in the search of the game tree
+     * @return the highest score found in the search of the game tree, for the player to move
      */
-    public int min(final Board board, final int searchDepth) {
-
-        if (searchDepth == 0|| isGameOver(board)) {
-            this.boardsEvaluated++; // increment the number of boards evaluated
-            return this.boardEvaluator.evaluate(board, searchDepth);
-        }
-        // lowest seen value is set to the highest possible value
-        int lowestSeenValue = Integer.MAX_VALUE;
-        // the legal moves
-        final Collection<Move> legalMoves = board.currentPlayer().getLegalMoves();
-
-        for( final Move move : legalMoves) { // for each legal move
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move); // make the move
-            final Board tempBoard = moveTransition.getTransitionBoard(); // get the board after the move has been made
-            final MoveStatus moveStatus = moveTransition.getMoveStatus(); // get the move status
-            if(moveStatus.isDone()) { // if the move is done
-                // recursively call max on the new board
-                final int currentValue = max(tempBoard, searchDepth - 1); // get the max value of the board after the move, -1 because we have already made a move
-                if(currentValue <= lowestSeenValue) { // if the current value is less than the lowest seen value
-                    lowestSeenValue = currentValue; // set the lowest seen value to the current value
-                }
-            }
-        }
-        // Print out boards evaluated
-        //System.out.println("Boards evaluated: " + this.boardsEvaluated);
-        return lowestSeenValue;
-    }
-
-    /**
-     * This method is the heart of the MiniMax algorithm. It is part of a corecursive pattern that
-     * will be used to traverse the game tree. The method will return the best move for the player
-     * that is passed in as a parameter. The searchDepth parameter is used to determine how many moves
-     * ahead the algorithm will look.
-     *
-     * @param board the board
-     * @param searchDepth the searchDepth of the search
-     * @return the highest score found in the search of the game tree
-     */
-    public int max(final Board board, final int searchDepth) {
+    public int negamax(final Board board, final int searchDepth) {
         if (searchDepth == 0 || isGameOver(board)) {
-            boardsEvaluated++; // increment the number of boards evaluated
-            return this.boardEvaluator.evaluate(board, searchDepth);
+            this.boardsEvaluated++; // increment the number of boards evaluated
+            final int value = this.boardEvaluator.evaluate(board, searchDepth); // the value of the board for white
+            return board.currentPlayer().getAlliance().isWhite() ? value : -value;
         }
-        // highest seen value is set to the lowest possible value
-        int highestSeenValue = Integer.MIN_VALUE;
+        // highest seen value is set to the lowest value a move can have
+        int highestSeenValue = -Integer.MAX_VALUE;
         // the legal moves
         final Collection<Move> legalMoves = board.currentPlayer().getLegalMoves();
 
@@ -169,10 +110,9 @@ public class MiniMax extends Observable implements MoveStrategy{
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move); // make the move
             final Board tempBoard = moveTransition.getTransitionBoard(); // get the board after the move has been made
             final MoveStatus moveStatus = moveTransition.getMoveStatus(); // get the move status
-
             if(moveStatus.isDone()) { // if the move is done
-                // recursively call min on the new board
-                final int currentValue = min(tempBoard, searchDepth - 1); // get the min value of the board after the move, -1 because we have already made a move
+                // recursively call negamax on the new board, from the side of the opponent
+                final int currentValue = -negamax(tempBoard, searchDepth - 1); // -1 because we have already made a move
                 if(currentValue >= highestSeenValue) { // if the current value is greater than the highest seen value
                     highestSeenValue = currentValue; // set the highest seen value to the current value
                 }
@@ -0,0 +1,171 @@
+package com.chess.controller.ai;
+
+import com.chess.controller.Alliance;
+import com.chess.model.board.BoardUtils;
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.board.MutableBoard;
+
+import static com.chess.model.board.BoardUtils.mvvlva;
+
+/**
+ * What a search learned about quiet moves: the killer moves of every ply and the history of every from-to pair.
+ * <p>
+ * A quiet move that cut off a node is a killer of its ply, and the next nodes of the ply try it right after the
+ * captures, since the same refutation often works in the positions next to each other. Every cutoff also adds the
+ * square of the remaining depth to the history score of the move for the side that made it, so quiet moves that keep
+ * cutting off anywhere in the tree are tried before the others. A quiet move that cut off is also the counter move of
+ * the move before it, the natural reply wherever that move is made. Between searches the killers are cleared and the
+ * history is halved, keeping what the last search learned without letting it rule the next one. A history belongs
+ * to one search thread.
+ */
+public final class MoveHistory {
+
+    /** The ordering score every capture and promotion is above */
+    public static final int TACTICAL_SCORE = 1 << 25;
+    /** The ordering score of the second killer, the first is one above */
+    public static final int KILLER_SCORE = 1 << 23;
+    /** The history score at which the whole history is halved, below the killers */
+    private static final int HISTORY_LIMIT = 1 << 22;
+    /** The number of killers of a ply */
+    public static final int KILLERS = 2;
+
+    /** The killer moves of every ply, the newest first */
+    private final int[][] killers;
+    /** The history scores by side, from square and to square */
+    private final int[][][] history;
+    /** The counter moves by from square and to square of the move they answer */
+    private final int[][] counterMoves;
+
+    /** Constructor */
+    public MoveHistory() {
+        this.killers = new int[MoveStack.MAX_SEARCH_PLY][KILLERS];
+        this.history = new int[Alliance.values().length][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        this.counterMoves = new int[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    }
+
+    /** Checks if a move is ordered by the history, neither a capture nor a promotion
+     *
+     * @param move the move
+     * @return true if the move is quiet
+     */
+    public static boolean isQuiet(final int move) {
+        return !MoveEncoding.isCapture(move) && !MoveEncoding.isPromotion(move);
+    }
+
+    /** Gets the ordering score of a capture or promotion: the MVV/LVA score above every quiet move, or below
+     * them when the static exchange loses material
+     *
+     * @param board the board the move is made on
+     * @param move the move
+     * @return the ordering score of the move
+     */
+    public static int tacticalScore(final MutableBoard board, final int move) {
+        final boolean winning = MoveEncoding.isCapture(move) && !MoveEncoding.isPromotion(move) &&
+                MoveEncoding.getCapturedValue(move) >= MoveEncoding.getMovedValue(move);
+        return winning || board.staticExchange(move) >= 0 ?
+                TACTICAL_SCORE + mvvlva(move) : mvvlva(move) - TACTICAL_SCORE;
+    }
+
+    /** Gets the ordering score of a quiet move
+     *
+     * @param move the move
+     * @param ply the ply of the move
+     * @param side the side that makes the move
+     * @return the score of a killer, or the history score below the killers
+     */
+    public int score(final int move, final int ply, final Alliance side) {
+        final int[] plyKillers = this.killers[ply];
+        if (move == plyKillers[0]) {
+            return KILLER_SCORE + 1;
+        }
+        if (move == plyKillers[1]) {
+            return KILLER_SCORE;
+        }
+        return this.history[side.ordinal()][MoveEncoding.getFrom(move)][MoveEncoding.getTo(move)];
+    }
+
+    /** Checks if a move is a killer of a ply
+     *
+     * @param move the move
+     * @param ply the ply
+     * @return true if the move cut off a node of the ply lately
+     */
+    public boolean isKiller(final int move, final int ply) {
+        return move == this.killers[ply][0] || move == this.killers[ply][1];
+    }
+
+    /** Gets a killer move of a ply
+     *
+     * @param ply the ply
+     * @param index 0 for the newest killer, up to {@link #KILLERS}
+     * @return the killer, or no move
+     */
+    public int getKiller(final int ply, final int index) {
+        return this.killers[ply][index];
+    }
+
+    /** Gets the counter move of a move
+     *
+     * @param previousMove the move made before, no move at the root and after a null move
+     * @return the quiet move that last cut off after the move, or no move
+     */
+    public int getCounterMove(final int previousMove) {
+        return previousMove == MoveEncoding.NO_MOVE ? MoveEncoding.NO_MOVE :
+                this.counterMoves[MoveEncoding.getFrom(previousMove)][MoveEncoding.getTo(previousMove)];
+    }
+
+    /** Learns from a cutoff, a quiet move becomes the counter move of the move before it
+     *
+     * @param previousMove the move made before the node, no move at the root and after a null move
+     * @param move the move that cut off
+     */
+    public void updateCounterMove(final int previousMove, final int move) {
+        if (isQuiet(move) && previousMove != MoveEncoding.NO_MOVE) {
+            this.counterMoves[MoveEncoding.getFrom(previousMove)][MoveEncoding.getTo(previousMove)] = move;
+        }
+    }
+
+    /** Learns from a cutoff, quiet moves become killers and gain history
+     *
+     * @param move the move that cut off
+     * @param ply the ply of the move
+     * @param depth the depth left at the node
+     * @param side the side that made the move
+     */
+    public void update(final int move, final int ply, final int depth, final Alliance side) {
+        if (!isQuiet(move)) {       /* captures are ordered well enough by their victims */
+            return;
+        }
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        final int[] toScores = this.history[side.ordinal()][MoveEncoding.getFrom(move)];
+        final int to = MoveEncoding.getTo(move);
+        toScores[to] += depth * depth;
+        if (toScores[to] >= HISTORY_LIMIT) {
+            halveHistory();
+        }
+    }
+
+    /** Ages the history between searches: the killers are cleared and the history scores halved */
+    public void age() {
+        for (final int[] plyKillers : this.killers) {
+            plyKillers[0] = MoveEncoding.NO_MOVE;
+            plyKillers[1] = MoveEncoding.NO_MOVE;
+        }
+        halveHistory();
+    }
+
+    /** Halves every history score */
+    private void halveHistory() {
+        for (final int[][] sideScores : this.history) {
+            for (final int[] toScores : sideScores) {
+                for (int i = 0; i < toScores.length; i++) {
+                    toScores[i] >>= 1;
+                }
+            }
+        }
+    }
+}
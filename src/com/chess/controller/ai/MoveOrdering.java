@@ -4,7 +4,6 @@ package com.chess.controller.ai;
 import com.chess.model.board.Board;
 import com.chess.model.board.Move;
 import com.chess.controller.MoveTransition;
-import com.chess.controller.Player;
 
 import java.util.*;
 
@@ -96,10 +95,8 @@ public final class MoveOrdering {
         for (final Move move : board.currentPlayer().getLegalMoves()) {                     // Iterate through the legal moves
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);     // Make the move
             if (moveTransition.getMoveStatus().isDone()) {                                  // If the move is done
-                final int attackBonus = calculateAttackBonus(board.currentPlayer(), move);  // Calculate the attack bonus
-                final int currentValue = attackBonus + (board.currentPlayer().getAlliance().isWhite() ? // Calculate the current value
-                        min(moveTransition.getTransitionBoard(), depth - 1) :         // Return the min value
-                        max(moveTransition.getTransitionBoard(), depth - 1));         // Return the max value
+                final int attackBonus = calculateAttackBonus(move);           // Calculate the attack bonus
+                final int currentValue = attackBonus - negamax(moveTransition.getTransitionBoard(), depth - 1);   // The value for the player who moves
                 moveOrderEntries.add(new MoveOrderEntry(move, currentValue));               // Add the move order entry
             }
         }
@@ -119,13 +116,10 @@ public final class MoveOrdering {
 
     /**
      * This calculates the attack bonus
-     * @param player The player
      * @param move The move
      */
-    private int calculateAttackBonus(final Player player,
-                                     final Move move) {
-        final int attackBonus = move.isAttack() ? 1000 : 0;                                  // Set the attack bonus
-        return attackBonus * (player.getAlliance().isWhite() ? 1 : -1);                      // Return the attack bonus
+    private int calculateAttackBonus(final Move move) {
+        return move.isAttack() ? 1000 : 0;                                                   // Return the attack bonus
     }
 
     /**
@@ -144,43 +138,21 @@ public final class MoveOrdering {
     }
 
     /**
-     * This method returns the min value
-     * @param board The board
-     * @param depth The depth
-     */
-    public int min(final Board board,
-                   final int depth) {
-        if(depth == 0 || isEndGameScenario(board)) {              // If the depth is 0 or the end game scenario
-            return this.evaluator.evaluate(board, depth);         // Return the evaluation
-        }
-        int lowestSeenValue = Integer.MAX_VALUE;                  // Set the lowest seen value
-        for (final Move move : calculateSimpleMoveOrder(board.currentPlayer().getLegalMoves())) {     // Iterate through the legal moves
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);               // Make the move
-            if (moveTransition.getMoveStatus().isDone()) {                                            // If the move is done
-                final int currentValue = max(moveTransition.getTransitionBoard(), depth - 1);   // Calculate the current value
-                if (currentValue <= lowestSeenValue) {                                                // If the current value is less than or equal to the lowest seen value
-                    lowestSeenValue = currentValue;                                                   // Set the lowest seen value
-                }
-            }
-        }
-        return lowestSeenValue;                                                                        // Return the lowest seen value
-    }
-
-    /**
-     * This method returns the max value
+     * This method returns the value of the board for the player to move
      * @param board The board
      * @param depth The depth
      */
-    public int max(final Board board,
-                   final int depth) {
+    public int negamax(final Board board,
+                       final int depth) {
         if(depth == 0 || isEndGameScenario(board)) {                                                    // If the depth is 0 or the end game scenario
-            return this.evaluator.evaluate(board, depth);                                               // Return the evaluation
+            final int value = this.evaluator.evaluate(board, depth);                                    // The evaluation for white
+            return board.currentPlayer().getAlliance().isWhite() ? value : -value;                      // Return it for the player to move
         }
-        int highestSeenValue = Integer.MIN_VALUE;                                                       // Set the highest seen value
+        int highestSeenValue = -Integer.MAX_VALUE;                                                      // Set the highest seen value
         for (final Move move : calculateSimpleMoveOrder(board.currentPlayer().getLegalMoves())) {       // Iterate through the legal moves
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);                 // Make the move
             if (moveTransition.getMoveStatus().isDone()) {                                              // If the move is done
-                final int currentValue = min(moveTransition.getTransitionBoard(), depth - 1);     // Calculate the current value
+                final int currentValue = -negamax(moveTransition.getTransitionBoard(), depth - 1);      // Calculate the current value for the player to move
                 if (currentValue >= highestSeenValue) {                                                 // If the current value is greater than or equal to the highest seen value
                     highestSeenValue = currentValue;                                                    // Set the highest seen value
                 }
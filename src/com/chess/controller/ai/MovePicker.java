@@ -0,0 +1,249 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.board.MutableBoard;
+
+/**
+ * Hands out the moves of a node one at a time, generating them in stages.
+ * <p>
+ * Most nodes cut off on their first or second move, so a node should not pay for generating and sorting all of its
+ * moves up front. The picker tries the transposition table move before anything is generated, then the captures that
+ * do not lose material in their static exchange, then the killers and the counter move of the move before, then the
+ * other quiet moves by their history, and the losing captures last. The quiet moves are only generated once the
+ * captures, killers and counter move are exhausted, and every stage picks its best move when it is asked for one
+ * instead of sorting the whole list. Moves that were not generated are checked with
+ * {@link MutableBoard#isPseudoLegal(int)}. The moves are kept in the slice of the ply of the node in a
+ * {@link MoveStack}, so a search needs one picker per ply.
+ */
+public final class MovePicker {
+
+    /** Stage of the transposition table move */
+    private static final int HASH_MOVE = 0;
+    /** Stage that generates and scores the captures and promotions */
+    private static final int GENERATE_CAPTURES = 1;
+    /** Stage of the captures and promotions that do not lose material */
+    private static final int GOOD_CAPTURES = 2;
+    /** Stage of the killers */
+    private static final int KILLERS = 3;
+    /** Stage of the counter move */
+    private static final int COUNTER_MOVE = 4;
+    /** Stage that generates and scores the quiet moves */
+    private static final int GENERATE_QUIETS = 5;
+    /** Stage of the quiet moves */
+    private static final int QUIETS = 6;
+    /** Stage of the captures that lose material */
+    private static final int BAD_CAPTURES = 7;
+    /** Stage after the last move */
+    private static final int DONE = 8;
+
+    /** The move lists the moves are generated into */
+    private final MoveStack moveStack;
+    /** The board of the node */
+    private MutableBoard board;
+    /** The killers and history of the search */
+    private MoveHistory history;
+    /** The moves of the ply of the node */
+    private int[] moves;
+    /** The ordering scores of the moves */
+    private int[] scores;
+    /** The best move stored in the transposition table, handed out first */
+    private int hashMove;
+    /** Whether only the captures and promotions that do not lose material are handed out */
+    private boolean tacticalOnly;
+    /** The current stage */
+    private int stage;
+    /** The index of the next move of the stage */
+    private int index;
+    /** The index after the generated captures, where the quiet moves start */
+    private int captureEnd;
+    /** The index of the first losing capture */
+    private int badCaptureStart;
+    /** The index after the generated quiet moves */
+    private int quietEnd;
+    /** The number of killers handed out or passed over */
+    private int killerIndex;
+    /** The killers and counter move handed out, which the quiet moves skip */
+    private final int[] pickedQuiets;
+    /** The number of moves generated since the counter was cleared */
+    private long movesGenerated;
+
+    /** Constructor
+     *
+     * @param moveStack the move lists of the search
+     */
+    public MovePicker(final MoveStack moveStack) {
+        this.moveStack = moveStack;
+        this.pickedQuiets = new int[MoveHistory.KILLERS + 1];
+    }
+
+    /** Starts handing out the moves of a node
+     *
+     * @param board the board, its ply is the ply of the moves
+     * @param hashMove the best move stored in the transposition table, or no move
+     * @param history the killers and history of the search
+     * @param tacticalOnly true to hand out only the captures and promotions that do not lose material, as the
+     *                     quiescence search does
+     */
+    public void reset(final MutableBoard board,
+                      final int hashMove,
+                      final MoveHistory history,
+                      final boolean tacticalOnly) {
+        final int ply = board.getPly();
+        this.board = board;
+        this.history = history;
+        this.moves = this.moveStack.getMoves(ply);
+        this.scores = this.moveStack.getScores(ply);
+        this.hashMove = tacticalOnly ? MoveEncoding.NO_MOVE : hashMove;
+        this.tacticalOnly = tacticalOnly;
+        this.stage = HASH_MOVE;
+        this.killerIndex = 0;
+        for (int i = 0; i < this.pickedQuiets.length; i++) {
+            this.pickedQuiets[i] = MoveEncoding.NO_MOVE;
+        }
+    }
+
+    /** Gets the next move, which is pseudo legal and has to be checked by making it. A stage that runs out of moves
+     * falls through to the next one.
+     *
+     * @return the next move, or no move once all moves were handed out
+     */
+    @SuppressWarnings("fallthrough")
+    public int next() {
+        switch (this.stage) {
+            case HASH_MOVE:
+                this.stage = GENERATE_CAPTURES;
+                if (this.hashMove != MoveEncoding.NO_MOVE && this.board.isPseudoLegal(this.hashMove)) {
+                    return this.hashMove;
+                }
+            case GENERATE_CAPTURES:
+                this.captureEnd = this.board.generateCaptures(this.moves, 0);
+                this.movesGenerated += this.captureEnd;
+                for (int i = 0; i < this.captureEnd; i++) {
+                    this.scores[i] = MoveHistory.tacticalScore(this.board, this.moves[i]);
+                }
+                this.index = 0;
+                this.stage = GOOD_CAPTURES;
+            case GOOD_CAPTURES:
+                while (this.index < this.captureEnd) {
+                    pickBest(this.index, this.captureEnd);
+                    if (this.scores[this.index] < MoveHistory.TACTICAL_SCORE) {     /* the rest lose material */
+                        break;
+                    }
+                    final int move = this.moves[this.index++];
+                    if (move != this.hashMove) {
+                        return move;
+                    }
+                }
+                this.badCaptureStart = this.index;
+                if (this.tacticalOnly) {
+                    this.stage = DONE;
+                    return MoveEncoding.NO_MOVE;
+                }
+                this.stage = KILLERS;
+            case KILLERS:
+                while (this.killerIndex < MoveHistory.KILLERS) {
+                    final int killer = this.history.getKiller(this.board.getPly(), this.killerIndex++);
+                    if (isFreshQuiet(killer)) {
+                        this.pickedQuiets[this.killerIndex - 1] = killer;
+                        return killer;
+                    }
+                }
+                this.stage = COUNTER_MOVE;
+            case COUNTER_MOVE:
+                this.stage = GENERATE_QUIETS;
+                final int counterMove = this.history.getCounterMove(this.board.getLastMove(0));
+                if (isFreshQuiet(counterMove)) {
+                    this.pickedQuiets[MoveHistory.KILLERS] = counterMove;
+                    return counterMove;
+                }
+            case GENERATE_QUIETS:
+                this.quietEnd = this.board.generateQuiets(this.moves, this.captureEnd);
+                this.movesGenerated += this.quietEnd - this.captureEnd;
+                for (int i = this.captureEnd; i < this.quietEnd; i++) {
+                    this.scores[i] = this.history.score(this.moves[i], this.board.getPly(), this.board.getSideToMove());
+                }
+                this.index = this.captureEnd;
+                this.stage = QUIETS;
+            case QUIETS:
+                while (this.index < this.quietEnd) {
+                    pickBest(this.index, this.quietEnd);
+                    final int move = this.moves[this.index++];
+                    if (move != this.hashMove && !isPicked(move)) {
+                        return move;
+                    }
+                }
+                this.index = this.badCaptureStart;
+                this.stage = BAD_CAPTURES;
+            case BAD_CAPTURES:
+                while (this.index < this.captureEnd) {
+                    pickBest(this.index, this.captureEnd);
+                    final int move = this.moves[this.index++];
+                    if (move != this.hashMove) {
+                        return move;
+                    }
+                }
+                this.stage = DONE;
+            default:
+                return MoveEncoding.NO_MOVE;
+        }
+    }
+
+    /** Gets the number of moves generated since the counter was cleared
+     *
+     * @return the number of moves generated
+     */
+    public long getMovesGenerated() {
+        return this.movesGenerated;
+    }
+
+    /** Clears the number of moves generated */
+    public void clearMovesGenerated() {
+        this.movesGenerated = 0;
+    }
+
+    /** Checks if a killer or counter move can be handed out: a pseudo legal quiet move not handed out before
+     *
+     * @param move the move
+     * @return true if the move is handed out now
+     */
+    private boolean isFreshQuiet(final int move) {
+        return move != MoveEncoding.NO_MOVE && move != this.hashMove && !isPicked(move) &&
+                MoveHistory.isQuiet(move) && this.board.isPseudoLegal(move);
+    }
+
+    /** Checks if a move was handed out as a killer or counter move
+     *
+     * @param move the move
+     * @return true if the move was handed out
+     */
+    private boolean isPicked(final int move) {
+        for (final int picked : this.pickedQuiets) {
+            if (picked == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Moves the best scored move of a range to its front, keeping the order of the others and of equal moves
+     *
+     * @param from the first index of the range
+     * @param to the index after the range
+     */
+    private void pickBest(final int from, final int to) {
+        int best = from;
+        for (int i = from + 1; i < to; i++) {
+            if (this.scores[i] > this.scores[best]) {
+                best = i;
+            }
+        }
+        if (best != from) {
+            final int move = this.moves[best];
+            final int score = this.scores[best];
+            System.arraycopy(this.moves, from, this.moves, from + 1, best - from);
+            System.arraycopy(this.scores, from, this.scores, from + 1, best - from);
+            this.moves[from] = move;
+            this.scores[from] = score;
+        }
+    }
+}
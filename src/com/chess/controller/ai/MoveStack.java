@@ -0,0 +1,45 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.MutableBoard;
+
+/**
+ * The move lists of a search, one slice per ply.
+ * <p>
+ * A search node generates its moves into the slice of its ply and its {@link MovePicker} orders them there, with a
+ * score array of the same size next to it. The slices are allocated once, so a search that owns a stack allocates
+ * nothing per node. A stack belongs to one search thread.
+ */
+public final class MoveStack {
+
+    /** The maximum number of plies a search goes deep */
+    public static final int MAX_SEARCH_PLY = 128;
+
+    /** The moves of every ply */
+    private final int[][] moves;
+    /** The ordering scores of the moves of every ply */
+    private final int[][] scores;
+
+    /** Constructor */
+    public MoveStack() {
+        this.moves = new int[MAX_SEARCH_PLY][MutableBoard.MAX_MOVES];
+        this.scores = new int[MAX_SEARCH_PLY][MutableBoard.MAX_MOVES];
+    }
+
+    /** Gets the moves of a ply
+     *
+     * @param ply the ply
+     * @return the moves of the ply
+     */
+    public int[] getMoves(final int ply) {
+        return this.moves[ply];
+    }
+
+    /** Gets the ordering scores of a ply
+     *
+     * @param ply the ply
+     * @return the scores of the moves of the ply
+     */
+    public int[] getScores(final int ply) {
+        return this.scores[ply];
+    }
+}
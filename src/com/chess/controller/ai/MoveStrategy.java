@@ -13,6 +13,18 @@ public interface MoveStrategy {
      */
     Move execute(Board board);
 
+    /**
+     * This method returns the best move for the player, stopping early when the handle says so.
+     * Strategies that cannot stop early search to the end and ignore the handle.
+     *
+     * @param board The board
+     * @param handle The handle the search looks at every few thousand nodes
+     * @return the move, the best one found so far if the search was stopped
+     */
+    default Move execute(Board board, SearchHandle handle) {
+        return execute(board);
+    }
+
     /**
      * This method returns the name of the strategy
      *
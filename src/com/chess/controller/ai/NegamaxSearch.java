@@ -0,0 +1,801 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.board.MutableBoard;
+
+import java.util.function.IntSupplier;
+
+/**
+ * The alpha-beta search the strategies share: negamax with principal variation search.
+ * <p>
+ * Values are seen from the side to move, so one routine searches the nodes of both sides. The first legal move of a
+ * node is searched with the full window; the others only have to prove they are no better, which a null window around
+ * alpha does cheaply. A move that fails high on the null window is searched again with the full window. The search is
+ * fail-soft and stores its results in a {@link TranspositionTable}. A search belongs to one thread: strategies that
+ * search in parallel build one per thread and share the table.
+ */
+public final class NegamaxSearch {
+
+    /** A value no position reaches, negating it is safe */
+    public static final int INFINITY = Integer.MAX_VALUE;
+    /** Values from this far from zero on are only reached by checkmates, the material of a side is worth less */
+    public static final int MATE_THRESHOLD = 5000;
+    /** What a capture may win beyond its victim, positional gains included, before delta pruning drops it */
+    public static final int DELTA_MARGIN = 200;
+    /** The depth from which a null move is searched three plies shallower instead of two */
+    public static final int NULL_MOVE_DEEP_REDUCTION_DEPTH = 7;
+    /** The depth from which a null move cutoff is verified by a reduced search without null moves */
+    public static final int NULL_MOVE_VERIFICATION_DEPTH = 5;
+    /** The depth from which late quiet moves are searched shallower */
+    public static final int LATE_MOVE_REDUCTION_DEPTH = 3;
+    /** The number of moves a node searches at full depth before it reduces the quiet ones */
+    public static final int LATE_MOVE_REDUCTION_MOVES = 3;
+    /** The depth up to which late quiet moves are not searched at all, with frontier pruning on as well */
+    public static final int LATE_MOVE_PRUNING_DEPTH = 3;
+    /** The depth up to which the frontier nodes compare their evaluation with the window */
+    public static final int FRONTIER_DEPTH = 3;
+    /** What the quiet moves of a frontier node may gain per ply left before futility pruning drops them */
+    public static final int FUTILITY_MARGIN = 150;
+    /** What the opponent may win back per ply left before reverse futility pruning cuts off a frontier node */
+    public static final int REVERSE_FUTILITY_MARGIN = 120;
+    /** How far per ply left below alpha a frontier node has to be before razoring drops it into the quiescence */
+    public static final int RAZOR_MARGIN = 300;
+
+    /** The reduction of a late move by depth and number of moves searched before, see {@link #initReductions()} */
+    private static final int[][] REDUCTIONS = initReductions();
+
+    /**
+     * How deep the board after a move is searched.
+     */
+    public interface DepthPolicy {
+
+        /** The default policy, one ply less */
+        DepthPolicy ONE_PLY = (board, depth) -> depth - 1;
+
+        /** Gets the depth the board after a move is searched to
+         *
+         * @param board the board after the move
+         * @param depth the depth left before the move
+         * @return the depth left after the move
+         */
+        int childDepth(MutableBoard board, int depth);
+    }
+
+    /** The evaluator */
+    private final BoardEvaluator evaluator;
+    /** The results of searched positions, which can be shared between searches */
+    private final TranspositionTable transpositionTable;
+    /** How deep the boards after the moves are searched */
+    private final DepthPolicy depthPolicy;
+    /** The number of plies the quiescence search goes below the leaves, 0 evaluates the leaves as they are */
+    private final int quiescenceDepth;
+    /** Whether the nodes try to pass before their moves */
+    private final boolean nullMovePruning;
+    /** Whether the nodes reduce their late quiet moves */
+    private final boolean lateMoveReductions;
+    /** Whether the frontier nodes prune by their evaluation */
+    private final boolean frontierPruning;
+    /** The move lists of the search, one per ply */
+    private final MoveStack moveStack;
+    /** The move pickers of the nodes, one per ply */
+    private final MovePicker[] movePickers;
+    /** The killers and history of the quiet moves */
+    private final MoveHistory moveHistory;
+
+    /** The best value of the root found by other threads, from the side of the root, null in a search of its own */
+    private final IntSupplier rootBound;
+    /** The handle of the running search */
+    private SearchHandle handle;
+    /** The time the search has to stop at, in milliseconds */
+    private long deadline;
+    /** The number of nodes searched */
+    private long nodes;
+    /** The number of boards evaluated */
+    private long boardsEvaluated;
+    /** The number of cutoffs */
+    private long cutOffsProduced;
+    /** The number of quiescence nodes searched */
+    private long quiescenceNodes;
+    /** The number of nodes a null move cut off */
+    private long nullMoveCutOffs;
+    /** The number of frontier nodes cut off by reverse futility */
+    private long reverseFutilityPrunes;
+    /** The number of frontier nodes razored into the quiescence search */
+    private long razorPrunes;
+    /** The number of quiet moves of frontier nodes skipped as futile */
+    private long futilityPrunes;
+    /** The number of late quiet moves searched at a reduced depth */
+    private long reducedMoves;
+    /** The number of reduced moves searched again at the full depth because they beat alpha */
+    private long reSearches;
+    /** The ply null moves are allowed from again, raised while a null move cutoff is verified */
+    private int nullMoveMinPly;
+    /** Whether the search was stopped */
+    private boolean stopped;
+
+    /** Constructor
+     *
+     * @param builder the builder
+     */
+    private NegamaxSearch(final Builder builder) {
+        this.evaluator = builder.evaluator;
+        this.transpositionTable = builder.transpositionTable;
+        this.depthPolicy = builder.depthPolicy;
+        this.quiescenceDepth = builder.quiescenceDepth;
+        this.nullMovePruning = builder.nullMovePruning;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.frontierPruning = builder.frontierPruning;
+        this.rootBound = builder.rootBound;
+        this.moveStack = new MoveStack();
+        this.movePickers = new MovePicker[MoveStack.MAX_SEARCH_PLY];
+        for (int i = 0; i < this.movePickers.length; i++) {
+            this.movePickers[i] = new MovePicker(this.moveStack);
+        }
+        this.moveHistory = new MoveHistory();
+        this.handle = SearchHandle.unlimited();
+        this.deadline = Long.MAX_VALUE;
+    }
+
+    /** Starts a new search, resetting the counters and aging the move history
+     *
+     * @param handle the handle the search looks at every few thousand nodes
+     * @param deadline the time the search has to stop at, in milliseconds, Long.MAX_VALUE for none
+     */
+    public void start(final SearchHandle handle, final long deadline) {
+        this.handle = handle;
+        this.deadline = deadline;
+        this.nodes = 0;
+        this.boardsEvaluated = 0;
+        this.cutOffsProduced = 0;
+        this.quiescenceNodes = 0;
+        this.nullMoveCutOffs = 0;
+        this.reverseFutilityPrunes = 0;
+        this.razorPrunes = 0;
+        this.futilityPrunes = 0;
+        this.reducedMoves = 0;
+        this.reSearches = 0;
+        this.nullMoveMinPly = 0;
+        this.stopped = false;
+        for (final MovePicker movePicker : this.movePickers) {
+            movePicker.clearMovesGenerated();
+        }
+        this.moveHistory.age();
+    }
+
+    /** Checks if the running search was stopped
+     *
+     * @return true once the handle or the deadline stopped the search, the values it returned since mean nothing
+     */
+    public boolean isStopped() {
+        return this.stopped;
+    }
+
+    /** Gets the number of nodes searched since the search started
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /** Gets the number of moves generated since the search started, fewer than the nodes searched would need when
+     * the nodes cut off before generating their quiet moves
+     *
+     * @return the number of moves generated
+     */
+    public long getMovesGenerated() {
+        long movesGenerated = 0;
+        for (final MovePicker movePicker : this.movePickers) {
+            movesGenerated += movePicker.getMovesGenerated();
+        }
+        return movesGenerated;
+    }
+
+    /** Gets the number of boards evaluated since the search started
+     *
+     * @return the number of boards
+     */
+    public long getBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    /** Gets the number of cutoffs since the search started
+     *
+     * @return the number of cutoffs
+     */
+    public long getCutOffsProduced() {
+        return this.cutOffsProduced;
+    }
+
+    /** Gets the number of quiescence nodes searched since the search started
+     *
+     * @return the number of nodes below the leaves
+     */
+    public long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    /** Gets the number of nodes a null move cut off since the search started
+     *
+     * @return the number of null move cutoffs
+     */
+    public long getNullMoveCutOffs() {
+        return this.nullMoveCutOffs;
+    }
+
+    /** Gets the number of frontier nodes and moves pruned by the evaluation since the search started
+     *
+     * @return the number of futility, reverse futility and razoring prunes
+     */
+    public long getFrontierPrunes() {
+        return this.reverseFutilityPrunes + this.razorPrunes + this.futilityPrunes;
+    }
+
+    /** Gets the number of frontier nodes reverse futility cut off since the search started
+     *
+     * @return the number of nodes whose evaluation was above beta by the margin
+     */
+    public long getReverseFutilityPrunes() {
+        return this.reverseFutilityPrunes;
+    }
+
+    /** Gets the number of frontier nodes razored since the search started
+     *
+     * @return the number of nodes whose quiescence search confirmed they are below alpha
+     */
+    public long getRazorPrunes() {
+        return this.razorPrunes;
+    }
+
+    /** Gets the number of futile quiet moves skipped since the search started
+     *
+     * @return the number of moves skipped at nodes whose evaluation was below alpha by the margin
+     */
+    public long getFutilityPrunes() {
+        return this.futilityPrunes;
+    }
+
+    /** Gets the number of late quiet moves searched at a reduced depth since the search started
+     *
+     * @return the number of reduced moves
+     */
+    public long getReducedMoves() {
+        return this.reducedMoves;
+    }
+
+    /** Gets the number of reduced moves searched again at the full depth since the search started
+     *
+     * @return the number of re-searches
+     */
+    public long getReSearches() {
+        return this.reSearches;
+    }
+
+    /** Searches the board after a move, from the side of the player who made it
+     * <p>
+     * The principal move is searched with the full window. Any other move is searched with a null window first, and
+     * again with the full window only if it turns out better than alpha.
+     *
+     * @param board the board after the move
+     * @param depth the depth left after the move
+     * @param alpha the value the player who made the move has for sure
+     * @param beta the value the opponent has for sure
+     * @param principal whether the move is the first of its node
+     * @return the value of the move for the player who made it
+     */
+    public int searchMove(final MutableBoard board,
+                          final int depth,
+                          final int alpha,
+                          final int beta,
+                          final boolean principal) {
+        if (principal) {
+            return -search(board, depth, -beta, -alpha);
+        }
+        final int value = -search(board, depth, -alpha - 1, -alpha);
+        if (value > alpha && value < beta && !this.stopped) {       /* the null window failed high, get the real value */
+            return -search(board, depth, -beta, -alpha);
+        }
+        return value;
+    }
+
+    /** Searches a node
+     *
+     * @param board the board
+     * @param depth the depth left
+     * @param alpha the value the side to move has for sure, at least -INFINITY
+     * @param beta the value the opponent has for sure
+     * @return the value of the board for the side to move, meaningless once the search was stopped
+     */
+    public int search(final MutableBoard board,
+                      final int depth,
+                      final int alpha,
+                      final int beta) {
+        if (checkStop()) {
+            return 0;
+        }
+        if (depth == 0 && this.quiescenceDepth > 0) {
+            return quiescence(board, this.quiescenceDepth, alpha, beta);
+        }
+        if (depth == 0 || board.getPly() == MoveStack.MAX_SEARCH_PLY) {
+            this.boardsEvaluated++;
+            return evaluate(this.evaluator, board, depth);
+        }
+        final long key = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        if (isUsable(entry, depth, alpha, beta)) {
+            return TranspositionTable.getScore(entry);
+        }
+        final int ply = board.getPly();
+        final boolean frontier = this.frontierPruning && beta - alpha == 1 && depth <= FRONTIER_DEPTH &&
+                !board.isInCheck();
+        final boolean nullMove = this.nullMovePruning && beta - alpha == 1 && isNullMoveAllowed(board, depth);
+        int staticValue = 0;
+        if (frontier || nullMove) {     /* evaluated once for both */
+            this.boardsEvaluated++;
+            staticValue = evaluate(this.evaluator, board, depth);
+        }
+        boolean futile = false;
+        if (frontier) {
+            if (staticValue - REVERSE_FUTILITY_MARGIN * depth >= beta) {    /* reverse futility */
+                this.reverseFutilityPrunes++;
+                return staticValue - REVERSE_FUTILITY_MARGIN * depth;
+            }
+            if (this.quiescenceDepth > 0 && staticValue + RAZOR_MARGIN * depth < alpha) {   /* razoring */
+                final int value = quiescence(board, this.quiescenceDepth, alpha, beta);
+                if (this.stopped) {
+                    return 0;
+                }
+                if (value <= alpha) {
+                    this.razorPrunes++;
+                    return value;
+                }
+            }
+            futile = staticValue + FUTILITY_MARGIN * depth <= alpha;
+        }
+        if (nullMove && staticValue >= beta) {     /* the board has to be good enough already to fail high */
+            final int value = searchNullMove(board, depth, beta);
+            if (this.stopped) {
+                return 0;
+            }
+            if (value >= beta) {
+                this.nullMoveCutOffs++;
+                final int bound = Math.min(value, Math.max(beta, MATE_THRESHOLD - 1));    /* passing proves no mate */
+                this.transpositionTable.store(key, depth, TranspositionTable.LOWER_BOUND, bound, MoveEncoding.NO_MOVE);
+                return bound;
+            }
+        }
+        final MovePicker movePicker = this.movePickers[ply];
+        movePicker.reset(board, TranspositionTable.getMove(entry), this.moveHistory, false);
+        int bestValue = -INFINITY;
+        int bestMove = MoveEncoding.NO_MOVE;
+        int currentAlpha = alpha;
+        int currentBeta = beta;
+        boolean principal = true;
+        final boolean inCheck = this.lateMoveReductions && board.isInCheck();
+        int movesSearched = 0;
+        for (int move = movePicker.next(); move != MoveEncoding.NO_MOVE; move = movePicker.next()) {
+            if (board.makeMove(move)) {
+                if (futile && !principal && MoveHistory.isQuiet(move) && !board.isInCheck()) {
+                    this.futilityPrunes++;
+                    board.unmakeMove();
+                    continue;
+                }
+                final int childDepth = this.depthPolicy.childDepth(board, depth);
+                final int value;
+                if (this.lateMoveReductions && !principal && isLateQuiet(board, move, ply, inCheck)) {
+                    if (this.frontierPruning && beta - alpha == 1 && depth <= LATE_MOVE_PRUNING_DEPTH &&
+                            movesSearched >= lateMovePruningCount(depth)) {
+                        board.unmakeMove();
+                        continue;
+                    }
+                    value = searchLateMove(board, depth, childDepth, movesSearched, currentAlpha, currentBeta);
+                } else {
+                    value = searchMove(board, childDepth, currentAlpha, currentBeta, principal);
+                }
+                board.unmakeMove();
+                principal = false;
+                movesSearched++;
+                if (this.stopped) {     /* the value of a stopped search means nothing */
+                    return 0;
+                }
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestMove = move;
+                    currentAlpha = Math.max(currentAlpha, value);
+                }
+                if (ply == 1 && this.rootBound != null) {      /* another root move may have raised the root */
+                    currentBeta = Math.min(currentBeta, -this.rootBound.getAsInt());
+                }
+                if (currentAlpha >= currentBeta) {
+                    this.cutOffsProduced++;
+                    this.moveHistory.update(bestMove, ply, depth, board.getSideToMove());
+                    this.moveHistory.updateCounterMove(board.getLastMove(0), bestMove);
+                    break;
+                }
+            }
+        }
+        if (principal) {        /* checkmate or stalemate */
+            this.boardsEvaluated++;
+            final int value = evaluate(this.evaluator, board, depth);
+            this.transpositionTable.store(key, depth, TranspositionTable.EXACT, value, MoveEncoding.NO_MOVE);
+            return value;
+        }
+        this.transpositionTable.store(key, depth, boundOf(bestValue, alpha, currentBeta), bestValue, bestMove);
+        return bestValue;
+    }
+
+    /** Checks if a move may be reduced or pruned: a quiet move that is not a killer, made neither in check nor
+     * giving check
+     *
+     * @param board the board after the move
+     * @param move the move
+     * @param ply the ply of the move
+     * @param inCheck whether the side that made the move was in check
+     * @return true if the move is a late move candidate
+     */
+    private boolean isLateQuiet(final MutableBoard board,
+                                final int move,
+                                final int ply,
+                                final boolean inCheck) {
+        return !inCheck && MoveHistory.isQuiet(move) && !this.moveHistory.isKiller(move, ply) && !board.isInCheck();
+    }
+
+    /** Searches a late quiet move. In a null window the move is searched at a depth reduced by the number of moves
+     * searched before it, and again at the full depth with {@link #searchMove} only if it beats alpha anyway. The
+     * moves of principal variation nodes, which need exact values, are not reduced.
+     *
+     * @param board the board after the move
+     * @param depth the depth left before the move
+     * @param childDepth the depth left after the move
+     * @param movesSearched the number of moves searched before the move
+     * @param alpha the value the player who made the move has for sure
+     * @param beta the value the opponent has for sure
+     * @return the value of the move for the player who made it
+     */
+    private int searchLateMove(final MutableBoard board,
+                               final int depth,
+                               final int childDepth,
+                               final int movesSearched,
+                               final int alpha,
+                               final int beta) {
+        if (beta - alpha == 1 && depth >= LATE_MOVE_REDUCTION_DEPTH && movesSearched >= LATE_MOVE_REDUCTION_MOVES) {
+            final int reducedDepth = Math.max(1, childDepth - REDUCTIONS[Math.min(depth, MoveStack.MAX_SEARCH_PLY - 1)]
+                    [Math.min(movesSearched, MutableBoard.MAX_MOVES - 1)]);
+            if (reducedDepth < childDepth) {
+                this.reducedMoves++;
+                final int value = -search(board, reducedDepth, -alpha - 1, -alpha);
+                if (value <= alpha || this.stopped) {
+                    return value;
+                }
+                this.reSearches++;
+            }
+        }
+        return searchMove(board, childDepth, alpha, beta, false);
+    }
+
+    /** Gets the number of moves a node near the leaves searches before it prunes the late quiet ones
+     *
+     * @param depth the depth left, at most {@link #LATE_MOVE_PRUNING_DEPTH}
+     * @return the number of moves
+     */
+    private static int lateMovePruningCount(final int depth) {
+        return 3 + depth * depth;
+    }
+
+    /** Checks if a node may try a null move: not in check, not right after another null move, not while a null move
+     * cutoff above is verified, and not when the side to move has only pawns, where passing is often the best move
+     * and a null move would cut off lost positions. The node only passes if its static value is at least beta as
+     * well, which it shares with the frontier pruning. Without a quiescence search, a null move reduced to depth 0
+     * returns the static evaluation of a position where the opponent has not moved, which is no proof that the node
+     * fails high, so such searches only pass where the null move is searched deeper than the evaluation.
+     *
+     * @param board the board
+     * @param depth the depth left
+     * @return true if the node may pass
+     */
+    private boolean isNullMoveAllowed(final MutableBoard board,
+                                      final int depth) {
+        return (depth - 1 - nullMoveReduction(depth) > 0 || this.quiescenceDepth > 0) &&   /* deeper than the evaluation */
+                board.getPly() >= this.nullMoveMinPly &&
+                board.getLastMove(0) != MoveEncoding.NO_MOVE &&     /* not a null move, nor the root */
+                board.hasNonPawnMaterial() && !board.isInCheck();
+    }
+
+    /** Gets how many plies shallower than a move a null move is searched, more deep in the tree
+     *
+     * @param depth the depth left before the null move
+     * @return the reduction
+     */
+    private static int nullMoveReduction(final int depth) {
+        return depth >= NULL_MOVE_DEEP_REDUCTION_DEPTH ? 3 : 2;
+    }
+
+    /** Lets the opponent move twice in a row: if the board still fails high with a reduced depth, a real move will
+     * fail high too. Deep cutoffs are verified by a reduced search of the real moves in which the side to move
+     * may not pass, so zugzwang positions do not fail high because of the null move.
+     *
+     * @param board the board
+     * @param depth the depth left
+     * @param beta the value the opponent has for sure
+     * @return the value of the board for the side to move, at least beta if the node can be cut off
+     */
+    private int searchNullMove(final MutableBoard board,
+                               final int depth,
+                               final int beta) {
+        final int reduction = nullMoveReduction(depth);
+        board.makeNullMove();
+        final int value = -search(board, Math.max(0, depth - 1 - reduction), -beta, -beta + 1);
+        board.unmakeNullMove();
+        if (value < beta || this.stopped || depth < NULL_MOVE_VERIFICATION_DEPTH) {
+            return value;
+        }
+        final int minPly = this.nullMoveMinPly;
+        this.nullMoveMinPly = board.getPly() + 3 * (depth - reduction) / 4;    /* no null moves near the node */
+        final int verified = search(board, depth - reduction, beta - 1, beta);
+        this.nullMoveMinPly = minPly;
+        return verified;
+    }
+
+    /** Searches the captures and promotions below a leaf until the board is quiet
+     * <p>
+     * The side to move does not have to capture: it can stand pat on the evaluation of the board, which is a lower
+     * bound of its value. A capture that cannot bring the evaluation up to alpha even if it wins its victim and a
+     * margin is not tried, and neither is a capture that loses material in its static exchange. In check there is no
+     * standing pat, and every evasion is searched.
+     *
+     * @param board the board
+     * @param depth the quiescence plies left
+     * @param alpha the value the side to move has for sure
+     * @param beta the value the opponent has for sure
+     * @return the value of the board for the side to move, meaningless once the search was stopped
+     */
+    private int quiescence(final MutableBoard board,
+                           final int depth,
+                           final int alpha,
+                           final int beta) {
+        if (checkStop()) {
+            return 0;
+        }
+        this.quiescenceNodes++;
+        this.boardsEvaluated++;
+        final int standPat = evaluate(this.evaluator, board, 0);
+        final int ply = board.getPly();
+        if (depth == 0 || ply == MoveStack.MAX_SEARCH_PLY) {
+            return standPat;
+        }
+        final boolean inCheck = board.isInCheck();
+        int bestValue = inCheck ? -INFINITY : standPat;
+        if (bestValue >= beta) {
+            return bestValue;
+        }
+        int currentAlpha = Math.max(alpha, bestValue);
+        final MovePicker movePicker = this.movePickers[ply];
+        movePicker.reset(board, MoveEncoding.NO_MOVE, this.moveHistory, !inCheck);    /* out of check every move */
+        boolean hasLegalMove = false;
+        for (int move = movePicker.next(); move != MoveEncoding.NO_MOVE; move = movePicker.next()) {
+            if (!inCheck && !MoveEncoding.isPromotion(move) &&
+                    standPat + MoveEncoding.getCapturedValue(move) + DELTA_MARGIN <= currentAlpha) {
+                continue;
+            }
+            if (board.makeMove(move)) {
+                hasLegalMove = true;
+                final int value = -quiescence(board, depth - 1, -beta, -currentAlpha);
+                board.unmakeMove();
+                if (this.stopped) {
+                    return 0;
+                }
+                if (value > bestValue) {
+                    bestValue = value;
+                    currentAlpha = Math.max(currentAlpha, value);
+                }
+                if (currentAlpha >= beta) {
+                    this.cutOffsProduced++;
+                    break;
+                }
+            }
+        }
+        return inCheck && !hasLegalMove ? standPat : bestValue;     /* checkmated, the evaluation knows */
+    }
+
+    /** Looks at the clock and the handle every few thousand nodes
+     *
+     * @return true if the search has to stop
+     */
+    private boolean checkStop() {
+        if (!this.stopped && (++this.nodes & (SearchHandle.CHECK_INTERVAL - 1)) == 0 &&
+                (System.currentTimeMillis() >= this.deadline || this.handle.shouldStop(this.nodes))) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    /** Evaluates a board for the side to move
+     *
+     * @param evaluator the evaluator, which scores for white
+     * @param board the board
+     * @param depth the depth left
+     * @return the value of the board for the side to move
+     */
+    static int evaluate(final BoardEvaluator evaluator, final MutableBoard board, final int depth) {
+        final int value = evaluator.evaluate(board, depth);
+        return board.getSideToMove().isWhite() ? value : -value;
+    }
+
+    /** Checks if a transposition table entry decides the value of a node
+     *
+     * @param entry the entry, or a miss
+     * @param depth the remaining depth of the node
+     * @param alpha the value the side to move has for sure
+     * @param beta the value the opponent has for sure
+     * @return true if the entry is deep enough and its score is exact or a bound outside of the window
+     */
+    static boolean isUsable(final long entry, final int depth, final int alpha, final int beta) {
+        if (entry == TranspositionTable.MISS || TranspositionTable.getDepth(entry) < depth) {
+            return false;
+        }
+        final int score = TranspositionTable.getScore(entry);
+        switch (TranspositionTable.getBound(entry)) {
+            case TranspositionTable.EXACT:
+                return true;
+            case TranspositionTable.LOWER_BOUND:
+                return score >= beta;
+            default:
+                return score <= alpha;
+        }
+    }
+
+    /** Gets the bound of a value a node returned
+     *
+     * @param value the value
+     * @param alpha the alpha of the window
+     * @param beta the beta of the window
+     * @return a lower bound at or above the window, an upper bound at or below it, exact inside
+     */
+    static int boundOf(final int value, final int alpha, final int beta) {
+        if (value >= beta) {
+            return TranspositionTable.LOWER_BOUND;
+        }
+        return value <= alpha ? TranspositionTable.UPPER_BOUND : TranspositionTable.EXACT;
+    }
+
+    /**
+     * Builds a search. The transposition table is required, the move order defaults to the transposition table move,
+     * the captures by the MVV/LVA heuristic and the quiet moves by their history, the depth policy to one ply per move,
+     * and the leaves are evaluated without a quiescence search.
+     */
+    public static class Builder {
+
+        /** The evaluator */
+        private BoardEvaluator evaluator;
+        /** The transposition table */
+        private TranspositionTable transpositionTable;
+        /** The depth policy */
+        private DepthPolicy depthPolicy;
+        /** The best value of the root found by other threads */
+        private IntSupplier rootBound;
+        /** The number of quiescence plies */
+        private int quiescenceDepth;
+        /** Whether the nodes try null moves */
+        private boolean nullMovePruning;
+        /** Whether the nodes reduce late moves */
+        private boolean lateMoveReductions;
+        /** Whether the frontier nodes prune by their evaluation */
+        private boolean frontierPruning;
+
+        /** Constructor */
+        public Builder() {
+            this.evaluator = StandardBoardEvaluator.get();
+            this.depthPolicy = DepthPolicy.ONE_PLY;
+        }
+
+        /** Sets the evaluator
+         *
+         * @param evaluator the evaluator, which scores for white
+         * @return the builder
+         */
+        public Builder setEvaluator(final BoardEvaluator evaluator) {
+            this.evaluator = evaluator;
+            return this;
+        }
+
+        /** Sets the transposition table
+         *
+         * @param transpositionTable the transposition table, which can be shared
+         * @return the builder
+         */
+        public Builder setTranspositionTable(final TranspositionTable transpositionTable) {
+            this.transpositionTable = transpositionTable;
+            return this;
+        }
+
+        /** Sets the depth policy
+         *
+         * @param depthPolicy how deep the boards after the moves are searched
+         * @return the builder
+         */
+        public Builder setDepthPolicy(final DepthPolicy depthPolicy) {
+            this.depthPolicy = depthPolicy;
+            return this;
+        }
+
+        /** Sets the number of plies the quiescence search goes below the leaves
+         *
+         * @param quiescenceDepth the number of plies, 0 evaluates the leaves as they are
+         * @return the builder
+         */
+        public Builder setQuiescenceDepth(final int quiescenceDepth) {
+            this.quiescenceDepth = quiescenceDepth;
+            return this;
+        }
+
+        /** Sets whether the nodes try to pass before their moves, see {@link #NULL_MOVE_VERIFICATION_DEPTH}
+         *
+         * @param nullMovePruning true to prune with null moves
+         * @return the builder
+         */
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        /** Sets whether the nodes reduce their late quiet moves, see {@link #LATE_MOVE_REDUCTION_DEPTH}, and with
+         * frontier pruning on prune them near the leaves, see {@link #LATE_MOVE_PRUNING_DEPTH}
+         *
+         * @param lateMoveReductions true to reduce late moves
+         * @return the builder
+         */
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        /** Sets whether the frontier nodes prune by their evaluation, see {@link #FRONTIER_DEPTH}: a null window node
+         * far above beta is cut off, one far below alpha drops into the quiescence search, and one below alpha
+         * does not search its quiet moves. With late move reductions on, the late quiet moves of the frontier nodes
+         * are not searched either
+         *
+         * @param frontierPruning true to prune the frontier nodes
+         * @return the builder
+         */
+        public Builder setFrontierPruning(final boolean frontierPruning) {
+            this.frontierPruning = frontierPruning;
+            return this;
+        }
+
+        /** Sets the bound of a parallel root search
+         *
+         * @param rootBound the best value of the root found by the threads, from the side of the root
+         * @return the builder
+         */
+        public Builder setRootBound(final IntSupplier rootBound) {
+            this.rootBound = rootBound;
+            return this;
+        }
+
+        /** Builds the search
+         *
+         * @return the search
+         */
+        public NegamaxSearch build() {
+            if (this.transpositionTable == null) {
+                throw new RuntimeException("A search needs a transposition table!");
+            }
+            return new NegamaxSearch(this);
+        }
+    }
+
+    /** Initializes the late move reductions, which grow with the logarithms of the depth and the number of moves
+     * searched before
+     *
+     * @return the reductions by depth and number of moves
+     */
+    private static int[][] initReductions() {
+        final int[][] reductions = new int[MoveStack.MAX_SEARCH_PLY][MutableBoard.MAX_MOVES];
+        for (int depth = 1; depth < reductions.length; depth++) {
+            for (int moves = 1; moves < reductions[depth].length; moves++) {
+                reductions[depth][moves] = (int) (0.75 + Math.log(depth) * Math.log(moves) / 2.25);
+            }
+        }
+        return reductions;
+    }
+}
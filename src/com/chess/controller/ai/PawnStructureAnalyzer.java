@@ -1,12 +1,11 @@
 package com.chess.controller.ai;
 
-import com.chess.model.pieces.Piece;
+import com.chess.controller.Alliance;
+import com.chess.model.board.BitBoard;
+import com.chess.model.board.MutableBoard;
 import com.chess.model.pieces.PieceType;
 import com.chess.controller.Player;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
-
 /**
  * This class is used to analyze the pawn structure of a player.
  */
@@ -32,29 +31,30 @@ public final class PawnStructureAnalyzer {
      * Returns the penalty for an isolated pawn.
      */
     public int isolatedPawnPenalty(final Player player) {
-        return calculateIsolatedPawnPenalty(createPawnColumnTable(calculatePlayerPawns(player)));
+        return calculateIsolatedPawnPenalty(createPawnColumnTable(player));
     }
 
     /**
      * Returns the penalty for a doubled pawn.
      */
     public int doubledPawnPenalty(final Player player) {
-        return calculatePawnColumnStack(createPawnColumnTable(calculatePlayerPawns(player)));
+        return calculatePawnColumnStack(createPawnColumnTable(player));
     }
 
     /**
      * Returns the score for the pawn structure of a player.
      */
     public int pawnStructureScore(final Player player) {
-        final int[] pawnsOnColumnTable = createPawnColumnTable(calculatePlayerPawns(player));
+        final int[] pawnsOnColumnTable = createPawnColumnTable(player);
         return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
     }
 
     /**
-     * Returns the number of pawns on each column.
+     * Returns the score for the pawn structure of an alliance on a search board.
      */
-    private static Collection<Piece> calculatePlayerPawns(final Player player) {
-        return player.getActivePieces().stream().filter(piece -> piece.getPieceType() == PieceType.PAWN).collect(Collectors.toList());
+    public int pawnStructureScore(final MutableBoard board, final Alliance alliance) {
+        final int[] pawnsOnColumnTable = BitBoard.countPerFile(board.getPieces(PieceType.PAWN, alliance));
+        return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
     }
 
     /**
@@ -92,12 +92,8 @@ public final class PawnStructureAnalyzer {
     /**
      * Creates a table of the number of pawns on each column.
      */
-    private static int[] createPawnColumnTable(final Collection<Piece> playerPawns) {
-        final int[] table = new int[8];
-        for(final Piece playerPawn : playerPawns) {                                 //For each pawn
-            table[playerPawn.getPiecePosition() % 8]++;
-        }
-        return table;                                                               //Return the table
+    private static int[] createPawnColumnTable(final Player player) {
+        return player.getBoard().getBitBoard().countPerFile(PieceType.PAWN, player.getAlliance()); //Count the pawns on each file
     }
 
 }
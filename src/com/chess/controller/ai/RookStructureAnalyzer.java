@@ -1,8 +1,9 @@
 package com.chess.controller.ai;
 
+import com.chess.model.board.BitBoard;
 import com.chess.model.board.Board;
 import com.chess.model.board.BoardUtils;
-import com.chess.model.pieces.Piece;
+import com.chess.model.pieces.PieceType;
 import com.chess.controller.Player;
 
 import java.util.*;
@@ -68,36 +69,17 @@ public final class RookStructureAnalyzer {
      * @return the rook structure score.
      */
     public int rookStructureScore(final Player player) {
-        final int[] rookOnColumnTable = createRookColumnTable(calculatePlayerRooks(player));    //create rook column table
+        final int[] rookOnColumnTable = createRookColumnTable(player);    //create rook column table
         return calculateOpenFileRookBonus(rookOnColumnTable);                                   //return rook structure score
     }
 
     /**
      * This method is used create a table of rooks on columns.
-     * @param playerRooks the player.
-     * @return ta table of rooks on columns.
-     */
-    private static int[] createRookColumnTable(final Collection<Piece> playerRooks) {
-        final int[] table = new int[8];                                         //create table
-        for(final Piece playerRook : playerRooks) {                             //for each player rook
-            table[playerRook.getPiecePosition() % 8]++;                         //add rook to table
-        }
-        return table;                                                           //return table
-    }
-
-    /**
-     * This method is used to return the rooks on the board.
      * @param player the player.
-     * @return the rooks on the board.
+     * @return ta table of rooks on columns.
      */
-    private static Collection<Piece> calculatePlayerRooks(final Player player) {
-        final List<Piece> playerRooks = new ArrayList<>();                          //initialize player rooks
-        for(final Piece piece : player.getActivePieces()) {                         //for each piece
-            if(piece.getPieceType().isRook()) {                                     //if piece is a rook
-                playerRooks.add(piece);                                             //add rook to player rooks
-            }
-        }
-        return Collections.unmodifiableList(new LinkedList<>(playerRooks));         //return player rooks
+    private static int[] createRookColumnTable(final Player player) {
+        return player.getBoard().getBitBoard().countPerFile(PieceType.ROOK, player.getAlliance());  //count rooks on each file
     }
 
     /**
@@ -127,12 +109,8 @@ public final class RookStructureAnalyzer {
      */
     private static int[] createPiecesOnColumnTable(final Board board) {         //not used so I am not going to comment
         final int[] piecesOnColumnTable = new int[BOARD_COLUMNS.size()];
-        for(final Piece piece : board.getAllPieces()) {
-            for(int i = 0 ; i < BOARD_COLUMNS.size(); i++) {
-                if(BOARD_COLUMNS.get(i)[piece.getPiecePosition()]) {
-                    piecesOnColumnTable[i]++;
-                }
-            }
+        for(int i = 0 ; i < BOARD_COLUMNS.size(); i++) {
+            piecesOnColumnTable[i] = BitBoard.count(board.getBitBoard().getOccupancy() & BitBoard.FILES[i]);
         }
         return piecesOnColumnTable;
     }
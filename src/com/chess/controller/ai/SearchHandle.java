@@ -0,0 +1,227 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A handle on a running search.
+ * <p>
+ * A search looks at its handle every few thousand nodes and stops when it was told to, when it searched its node
+ * limit or when its deadline passed. It then returns the best move it completed, which the handle also keeps up to
+ * date while the search runs. As a {@link Future} the handle gives the move of a search started with
+ * {@link #start(MoveStrategy, Board)}; {@link #get()} of a stopped search returns the best move found so far.
+ */
+public final class SearchHandle implements Future<Move> {
+
+    /** The number of nodes between two looks at the handle, a power of two */
+    public static final int CHECK_INTERVAL = 2048;
+
+    /** The number of nodes after which the search stops */
+    private final long nodeLimit;
+    /** The time the search stops at, in milliseconds */
+    private final long deadline;
+    /** Counts down when the search returned */
+    private final CountDownLatch finished;
+
+    /** Whether the search was told to stop */
+    private volatile boolean stopped;
+    /** Whether the search reached one of its limits */
+    private volatile boolean limitReached;
+    /** The best move found so far */
+    private volatile Move bestMove;
+    /** The error the search failed with */
+    private volatile Throwable failure;
+
+    /** Constructor
+     *
+     * @param builder the builder
+     */
+    private SearchHandle(final Builder builder) {
+        this.nodeLimit = builder.nodeLimit;
+        this.deadline = builder.timeLimit == Long.MAX_VALUE ? Long.MAX_VALUE :
+                System.currentTimeMillis() + builder.timeLimit;
+        this.finished = new CountDownLatch(1);
+    }
+
+    /** Creates a handle without limits, the search runs until it finishes or is stopped
+     *
+     * @return the handle
+     */
+    public static SearchHandle unlimited() {
+        return new Builder().build();
+    }
+
+    /** Runs a search on a thread of its own
+     *
+     * @param strategy the strategy
+     * @param board the board to search
+     * @return this handle
+     */
+    public SearchHandle start(final MoveStrategy strategy, final Board board) {
+        final Thread thread = new Thread(() -> {
+            try {
+                complete(strategy.execute(board, this));
+            } catch (final Throwable t) {
+                this.failure = t;
+                this.finished.countDown();
+            }
+        }, strategy + " search");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /** Tells the search to stop, it returns the best move found so far */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /** Checks if the search has to stop, to be called every {@link #CHECK_INTERVAL} nodes
+     *
+     * @param nodes the number of nodes searched
+     * @return true if the search was stopped or reached a limit
+     */
+    public boolean shouldStop(final long nodes) {
+        if (!this.stopped && !this.limitReached &&
+                (nodes >= this.nodeLimit || System.currentTimeMillis() >= this.deadline)) {
+            this.limitReached = true;
+        }
+        return this.stopped || this.limitReached;
+    }
+
+    /** Checks if the search has to stop, without looking at the limits
+     *
+     * @return true if the search was stopped or reached a limit
+     */
+    public boolean isStopped() {
+        return this.stopped || this.limitReached;
+    }
+
+    /** Records the best move found so far
+     *
+     * @param move the move
+     */
+    public void update(final Move move) {
+        this.bestMove = move;
+    }
+
+    /** Gets the best move found so far
+     *
+     * @return the move, null before the search found one
+     */
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    /** Records the move the search returned
+     *
+     * @param move the move
+     */
+    public void complete(final Move move) {
+        this.bestMove = move;
+        this.finished.countDown();
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean running = !isDone();
+        stop();
+        return running;
+    }
+
+    /** Checks if the search was told to stop, reaching a limit does not count
+     *
+     * @return true if {@link #stop()} or {@link #cancel(boolean)} was called
+     */
+    @Override
+    public boolean isCancelled() {
+        return this.stopped;
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.finished.getCount() == 0;
+    }
+
+    @Override
+    public Move get() throws InterruptedException, ExecutionException {
+        this.finished.await();
+        return result();
+    }
+
+    @Override
+    public Move get(final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!this.finished.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return result();
+    }
+
+    /** Gets the result of a finished search
+     *
+     * @return the move
+     * @throws ExecutionException if the search failed
+     */
+    private Move result() throws ExecutionException {
+        if (this.failure != null) {
+            throw new ExecutionException(this.failure);
+        }
+        if (this.bestMove == null) {
+            throw new CancellationException("The search was stopped before it found a move");
+        }
+        return this.bestMove;
+    }
+
+    /**
+     * Builds a search handle with limits.
+     */
+    public static class Builder {
+
+        /** The node limit */
+        private long nodeLimit;
+        /** The time limit in milliseconds */
+        private long timeLimit;
+
+        /** Constructor, no limits */
+        public Builder() {
+            this.nodeLimit = Long.MAX_VALUE;
+            this.timeLimit = Long.MAX_VALUE;
+        }
+
+        /** Sets the number of nodes after which the search stops
+         *
+         * @param nodeLimit the node limit
+         * @return this builder
+         */
+        public Builder setNodeLimit(final long nodeLimit) {
+            this.nodeLimit = nodeLimit;
+            return this;
+        }
+
+        /** Sets the time after which the search stops, counted from {@link #build()}
+         *
+         * @param timeLimit the time limit in milliseconds
+         * @return this builder
+         */
+        public Builder setTimeLimit(final long timeLimit) {
+            this.timeLimit = timeLimit;
+            return this;
+        }
+
+        /** Builds the handle
+         *
+         * @return the handle
+         */
+        public SearchHandle build() {
+            return new SearchHandle(this);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.chess.controller.ai;
 
+import com.chess.controller.Alliance;
+import com.chess.model.board.BitBoard;
 import com.chess.model.board.Board;
 import com.chess.model.board.Move;
+import com.chess.model.board.MutableBoard;
 import com.chess.model.pieces.Piece;
+import com.chess.model.pieces.PieceType;
 import com.chess.controller.Player;
 
 import java.util.Dictionary;
@@ -59,6 +63,14 @@ public class StandardBoardEvaluator implements BoardEvaluator {
                scorePlayer(board.blackPlayer(), depth);
     }
 
+    @Override
+    public int evaluate(final MutableBoard board, final int depth) {   // same terms as for a board, read from the search board
+        final int whiteMoves = board.countMoves(Alliance.WHITE);
+        final int blackMoves = board.countMoves(Alliance.BLACK);
+        return scorePlayer(board, Alliance.WHITE, whiteMoves, blackMoves, depth) -
+               scorePlayer(board, Alliance.BLACK, blackMoves, whiteMoves, depth);
+    }
+
     /** Culminates the details of the evaluation to be debugged
      *
      * @param board the board to be evaluated
@@ -136,6 +148,80 @@ public class StandardBoardEvaluator implements BoardEvaluator {
 
     }
 
+    /**
+     * This method returns the score of an alliance on a search board
+     *
+     * @param board The search board
+     * @param alliance The alliance
+     * @param moves The number of moves of the alliance
+     * @param opponentMoves The number of moves of the opponent
+     * @param depth The depth
+     * @return the score of the alliance
+     */
+    private static int scorePlayer(final MutableBoard board,
+                                   final Alliance alliance,
+                                   final int moves,
+                                   final int opponentMoves,
+                                   final int depth) {
+        return MOBILITY_MULTIPLIER * (int)((moves * 10.0f) / opponentMoves) +
+                kingThreats(board, alliance, depth) +
+                attacks(board, alliance) +
+                (board.isCastled(alliance) ? CASTLE_BONUS : 0) +
+                pieceEvaluations(board, alliance) +
+                PawnStructureAnalyzer.get().pawnStructureScore(board, alliance);
+    }
+
+    /**
+     * This method returns an alliance's king threats score on a search board
+     *
+     * @param board The search board
+     * @param alliance The alliance
+     * @param depth The depth
+     * @return the king threats score
+     */
+    private static int kingThreats(final MutableBoard board, final Alliance alliance, final int depth) {
+        if (board.getSideToMove() != alliance && board.isCheckMate()) {  // only the side to move can be mated
+            return CHECK_MATE_BONUS * depthBonus(depth);
+        }
+        return board.isInCheck(alliance) ? CHECK_BONUS : 0;
+    }
+
+    /**
+     * This method returns an alliance's attack score on a search board
+     *
+     * @param board The search board
+     * @param alliance The alliance
+     * @return the number of captures of an equal or more valuable piece
+     */
+    private static int attacks(final MutableBoard board, final Alliance alliance) {
+        final long enemies = board.getOccupancy(alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+        int attackScore = 0;
+        long pieces = board.getOccupancy(alliance);
+        while (pieces != BitBoard.EMPTY) {
+            final int from = BitBoard.firstSquare(pieces);
+            final int movedValue = MutableBoard.getPieceValue(board.getPiece(from));
+            long targets = board.attacksFrom(from) & enemies;
+            while (targets != BitBoard.EMPTY) {
+                if (movedValue <= MutableBoard.getPieceValue(board.getPiece(BitBoard.firstSquare(targets)))) {
+                    attackScore++;
+                }
+                targets &= targets - 1;
+            }
+            pieces &= pieces - 1;
+        }
+        final int enPassantSquare = board.getEnPassantSquare();
+        if (board.getSideToMove() == alliance && enPassantSquare != -1) {   // en passant takes a pawn with a pawn
+            long pawns = board.getPieces(PieceType.PAWN, alliance);
+            while (pawns != BitBoard.EMPTY) {
+                if (BitBoard.isSet(board.attacksFrom(BitBoard.firstSquare(pawns)), enPassantSquare)) {
+                    attackScore++;
+                }
+                pawns &= pawns - 1;
+            }
+        }
+        return attackScore * ATTACK_MULTIPLIER;
+    }
+
     /**
      * This method returns the player's attack score
      *
@@ -163,27 +249,34 @@ public class StandardBoardEvaluator implements BoardEvaluator {
      * @return the numerical value of the player's pieces
      */
     private static int pieceEvaluations(Player player) {
+        final BitBoard bitBoard = player.getBoard().getBitBoard();
+        final Alliance alliance = player.getAlliance();
         int pieceValueScore = 0;
-        int numBishops = 0;
-        int numKnights = 0;
-        int numRooks = 0;
-        int numQueens = 0;
-        for (final Piece piece : player.getActivePieces()) {
-            if (piece.getPieceType().isBishop()) {
-                numBishops++;
-            } else if (piece.getPieceType().isKnight()) {
-                numKnights++;
-            } else if (piece.getPieceType().isRook()) {
-                numRooks++;
-            } else if (piece.getPieceType().isQueen()) {
-                numQueens++;
-            }
-            pieceValueScore += piece.getPieceValue();
+        for (final PieceType pieceType : PieceType.values()) {   //material straight from the piece bitboards
+            pieceValueScore += bitBoard.count(pieceType, alliance) * pieceType.getPieceValue();
+        }
+        return pieceValueScore + (bitBoard.count(PieceType.BISHOP, alliance) == 2 ? BISHOP_PAIR_BONUS : 0) +
+                (bitBoard.count(PieceType.KNIGHT, alliance) == 2 ? KNIGHT_PAIR_BONUS : 0) +
+                (bitBoard.count(PieceType.ROOK, alliance) == 2 ? ROOK_PAIR_BONUS : 0) +
+                (bitBoard.count(PieceType.QUEEN, alliance) == 2 ? QUEEN_PAIR_BONUS : 0);
+    }
+
+    /**
+     * This method returns an evaluation of an alliance's pieces on a search board
+     *
+     * @param board The search board
+     * @param alliance The alliance
+     * @return the numerical value of the alliance's pieces
+     */
+    private static int pieceEvaluations(final MutableBoard board, final Alliance alliance) {
+        int pieceValueScore = 0;
+        for (final PieceType pieceType : PieceType.values()) {
+            pieceValueScore += BitBoard.count(board.getPieces(pieceType, alliance)) * pieceType.getPieceValue();
         }
-        return pieceValueScore + (numBishops == 2 ? BISHOP_PAIR_BONUS : 0) +
-                (numKnights == 2 ? KNIGHT_PAIR_BONUS : 0) +
-                (numRooks == 2 ? ROOK_PAIR_BONUS : 0) +
-                (numQueens == 2 ? QUEEN_PAIR_BONUS : 0);
+        return pieceValueScore + (BitBoard.count(board.getPieces(PieceType.BISHOP, alliance)) == 2 ? BISHOP_PAIR_BONUS : 0) +
+                (BitBoard.count(board.getPieces(PieceType.KNIGHT, alliance)) == 2 ? KNIGHT_PAIR_BONUS : 0) +
+                (BitBoard.count(board.getPieces(PieceType.ROOK, alliance)) == 2 ? ROOK_PAIR_BONUS : 0) +
+                (BitBoard.count(board.getPieces(PieceType.QUEEN, alliance)) == 2 ? QUEEN_PAIR_BONUS : 0);
     }
 
     /**
@@ -3,8 +3,7 @@ package com.chess.controller.ai;
 import com.chess.model.board.Board;
 import com.chess.model.board.BoardUtils;
 import com.chess.model.board.Move;
-import com.chess.controller.MoveTransition;
-import com.chess.controller.Player;
+import com.chess.model.board.MutableBoard;
 
 import java.util.Collection;
 import java.util.Comparator;
@@ -35,14 +34,14 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
     private long boardsEvaluated;
 
     /**
-     * This method initializes the quiescence counter.
+     * This method initializes the number of plies the quiescence search goes below the leaves.
      */
-    private int quiescenceCount;
+    private static final int QUIESCENCE_DEPTH = 8;
 
     /**
-     * This method initializes the maximum quiescence.
+     * This method initializes the negamax search.
      */
-    private static final int MAX_QUIESCENCE = 5000 * 5;
+    private final NegamaxSearch search;
 
     /**
      * This method sorts the moves.
@@ -83,10 +82,26 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
      * @param searchDepth
      */
     public StockAlphaBeta(final int searchDepth) {
+        this(searchDepth, new TranspositionTable());
+    }
+
+    /**
+     * This method is used to initialize the StockAlphaBeta with a transposition table, which can be shared.
+     * @param searchDepth
+     * @param transpositionTable
+     */
+    public StockAlphaBeta(final int searchDepth, final TranspositionTable transpositionTable) {
         this.evaluator = StandardBoardEvaluator.get();
         this.searchDepth = searchDepth;
         this.boardsEvaluated = 0;
-        this.quiescenceCount = 0;
+        this.search = new NegamaxSearch.Builder()
+                .setEvaluator(this.evaluator)
+                .setTranspositionTable(transpositionTable)
+                .setQuiescenceDepth(QUIESCENCE_DEPTH)
+                .setNullMovePruning(true)
+                .setLateMoveReductions(true)
+                .setFrontierPruning(true)
+                .build();
     }
 
     @Override
@@ -101,40 +116,47 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
 
     @Override
     public Move execute(final Board board) {
+        return execute(board, SearchHandle.unlimited());
+    }
+
+    @Override
+    public Move execute(final Board board, final SearchHandle handle) {
         final long startTime = System.currentTimeMillis();  //get start time
-        final Player currentPlayer = board.currentPlayer(); //get current player
+        this.search.start(handle, Long.MAX_VALUE);          //no nodes searched yet, not stopped yet
         Move bestMove = MoveFactory.getNullMove();          //get best move
-        int highestSeenValue = Integer.MIN_VALUE;           //get highest seen value
-        int lowestSeenValue = Integer.MAX_VALUE;            //get lowest seen value
+        int highestSeenValue = -NegamaxSearch.INFINITY;     //best value for the current player
         int currentValue;                                   //current value
+        boolean principal = true;                           //the first legal move gets the full window
         System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);   //print board current player and search depth
         int moveCounter = 1;                                //move counter is 1
         int numMoves = board.currentPlayer().getLegalMoves().size();
+        final MutableBoard searchBoard = new MutableBoard(board);           //board the search makes and unmakes moves on
+        final int[] searchMoves = new int[MutableBoard.MAX_MOVES];
+        final int numSearchMoves = searchBoard.generateMoves(searchMoves, 0);
         for (final Move move : MoveSorter.EXPENSIVE.sort((board.currentPlayer().getLegalMoves()))) {    //for each move in move sorter
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);                 //make move
-            this.quiescenceCount = 0;      //quiescence count is 0
+            final int searchMove = MoveFactory.encode(move);              //move on the search board
+            final long quiescenceStart = this.search.getQuiescenceNodes();     //quiescence nodes before the move
             final String s;                //string s
-            if (moveTransition.getMoveStatus().isDone()) {
+            if (contains(searchMoves, numSearchMoves, searchMove) && searchBoard.makeMove(searchMove)) {    //make move if legal
                 final long candidateMoveStartTime = System.nanoTime();  //get candidate move start time
-                currentValue = currentPlayer.getAlliance().isWhite() ?  //if current player alliance is white
-                        min(moveTransition.getTransitionBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue) :
-                        max(moveTransition.getTransitionBoard(), this.searchDepth - 1, highestSeenValue, lowestSeenValue);
-                if (currentPlayer.getAlliance().isWhite() && currentValue > highestSeenValue) {
+                currentValue = this.search.searchMove(searchBoard, this.searchDepth - 1,   //value for the current player
+                        highestSeenValue, NegamaxSearch.INFINITY, principal);
+                final boolean isCheckMate = searchBoard.isCheckMate();  //does the move mate
+                searchBoard.unmakeMove();                               //take the move back
+                principal = false;                                      //the other moves only have to beat it
+                if (this.search.isStopped()) {                          //the move was not searched to the end
+                    break;
+                }
+                if (currentValue > highestSeenValue) {
                     highestSeenValue = currentValue;    //highest seen value is current value
                     bestMove = move;                    //best move is move
-                    if(moveTransition.getTransitionBoard().blackPlayer().isInCheckMate()) {
-                        break;
-                    }
-                }
-                else if (currentPlayer.getAlliance().isBlack() && currentValue < lowestSeenValue) {
-                    lowestSeenValue = currentValue;    //lowest seen value is current value
-                    bestMove = move;                   //best move is move
-                    if(moveTransition.getTransitionBoard().whitePlayer().isInCheckMate()) {
+                    handle.update(bestMove);            //publish the best move found so far
+                    if(isCheckMate) {
                         break;
                     }
                 }
 
-                final String quiescenceInfo = " " + score(currentPlayer, highestSeenValue, lowestSeenValue) + " q: " +this.quiescenceCount;
+                final String quiescenceInfo = " [score: " + highestSeenValue + "] q: " +(this.search.getQuiescenceNodes() - quiescenceStart);
                 s = "\t" + toString() + "(" +this.searchDepth+ "), m: (" +moveCounter+ "/" +numMoves+ ") " + move + ", best:  " + bestMove
 
                         + quiescenceInfo + ", t: " +calculateTimeTaken(candidateMoveStartTime, System.nanoTime());
@@ -147,7 +169,8 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
             moveCounter++;
         }
 
-        final long executionTime = System.currentTimeMillis() - startTime;  //get execution time
+        this.boardsEvaluated += this.search.getBoardsEvaluated();          //get boards evaluated
+        final long executionTime = Math.max(System.currentTimeMillis() - startTime, 1);    //get execution time
         final String result = board.currentPlayer() + " SELECTS " +bestMove+ " [#boards evaluated = " +this.boardsEvaluated+
                 " time taken = " + executionTime /1000+ " rate = " +(1000 * ((double)this.boardsEvaluated/ executionTime));
         System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, rate = %.1f\n", board.currentPlayer(),
@@ -158,110 +181,19 @@ public class StockAlphaBeta extends Observable implements MoveStrategy {
     }
 
     /**
-     * This method is used to calculate the time taken.
-     * @param currentPlayer
-     * @param highestSeenValue
-     * @param lowestSeenValue
-     * @return either highest seen value or lowest seen value
-     */
-    private static String score(final Player currentPlayer,
-                                final int highestSeenValue,
-                                final int lowestSeenValue) {
-
-        if(currentPlayer.getAlliance().isWhite()) {
-            return "[score: " +highestSeenValue + "]";
-        } else if(currentPlayer.getAlliance().isBlack()) {
-            return "[score: " +lowestSeenValue+ "]";
-        }
-        throw new RuntimeException("bad bad boy!");
-    }
-
-    /**
-     * This method is used to calculate the time taken.
-     * @param board
-     * @param depth
-     * @param highest
-     * @param lowest
-     * @return return the highest seen value
-     */
-    private int max(final Board board,
-                    final int depth,
-                    final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
-        }
-        int currentHighest = highest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final Board toBoard = moveTransition.getTransitionBoard();
-                currentHighest = Math.max(currentHighest, min(toBoard,
-                        calculateQuiescenceDepth(toBoard, depth), currentHighest, lowest));
-                if (currentHighest >= lowest) {
-                    return lowest;
-                }
-            }
-        }
-        return currentHighest;
-    }
-
-    /**
-     * This method is used to calculate the time taken.
-     * @param board
-     * @param depth
-     * @param highest
-     * @param lowest
-     * @return return the lowest seen value
-     */
-    private int min(final Board board,
-                    final int depth,
-                    final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
-        }
-        int currentLowest = lowest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final Board toBoard = moveTransition.getTransitionBoard();
-                currentLowest = Math.min(currentLowest, max(toBoard,
-                        calculateQuiescenceDepth(toBoard, depth), highest, currentLowest));
-                if (currentLowest <= highest) {
-                    return highest;
-                }
-            }
-        }
-        return currentLowest;
-    }
-
-    /**
-     * This method is used to the quiescence depth.
-     * @param toBoard
-     * @param depth
-     * @return return the depth.
+     * This method is used to check if a move was generated.
+     * @param moves
+     * @param count
+     * @param move
+     * @return true if the move is one of the moves.
      */
-    private int calculateQuiescenceDepth(final Board toBoard,
-                                         final int depth) {
-        if(depth == 1 && this.quiescenceCount < MAX_QUIESCENCE) {
-            int activityMeasure = 0;
-            if (toBoard.currentPlayer().isInCheck()) {
-                activityMeasure += 1;
-            }
-            for(final Move move: BoardUtils.lastNMoves(toBoard, 2)) {
-                if(move.isAttack()) {
-                    activityMeasure += 1;
-                }
-            }
-            if(activityMeasure >= 2) {
-                this.quiescenceCount++;
-                return 2;
+    private static boolean contains(final int[] moves, final int count, final int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
             }
         }
-        return depth - 1;
+        return false;
     }
 
     /**
@@ -0,0 +1,98 @@
+package com.chess.controller.ai;
+
+/**
+ * The time a search may spend on a move.
+ * <p>
+ * A time control has two limits. After the soft limit the search starts no new iteration, at the hard limit it stops
+ * the iteration it is in and returns the result of the last completed one. A fixed move time uses the whole time as
+ * the hard limit, a game clock spends a share of the remaining time plus most of the increment.
+ */
+public final class TimeControl {
+
+    /** No time limit, the search goes to its full depth */
+    public static final TimeControl NONE = new TimeControl(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    /** The number of moves the remaining time of a clock is shared over */
+    private static final int MOVES_TO_GO = 30;
+    /** The time kept back on the clock for the overhead of making a move, in milliseconds */
+    private static final long MOVE_OVERHEAD = 50;
+    /** The shortest time a search gets, in milliseconds */
+    private static final long MIN_TIME = 10;
+
+    /** The time after which no new iteration starts, in milliseconds */
+    private final long softLimit;
+    /** The time after which the search stops, in milliseconds */
+    private final long hardLimit;
+
+    /** Constructor
+     *
+     * @param softLimit the soft limit in milliseconds
+     * @param hardLimit the hard limit in milliseconds
+     */
+    private TimeControl(final long softLimit, final long hardLimit) {
+        this.softLimit = softLimit;
+        this.hardLimit = hardLimit;
+    }
+
+    /** Creates a time control of a fixed time per move
+     *
+     * @param moveTime the time of the move in milliseconds
+     * @return the time control
+     */
+    public static TimeControl moveTime(final long moveTime) {
+        final long time = Math.max(moveTime, MIN_TIME);
+        return new TimeControl(time / 2, time);
+    }
+
+    /** Creates a time control from a game clock
+     *
+     * @param remaining the time left on the clock in milliseconds
+     * @param increment the time added to the clock after every move in milliseconds
+     * @return the time control
+     */
+    public static TimeControl clock(final long remaining, final long increment) {
+        final long available = Math.max(remaining - MOVE_OVERHEAD, MIN_TIME);
+        final long soft = Math.min(remaining / MOVES_TO_GO + increment * 3 / 4, available);
+        final long hard = Math.min(Math.max(soft, Math.min(soft * 4, available / 4 + increment)), available);
+        return new TimeControl(Math.max(soft, MIN_TIME), Math.max(hard, MIN_TIME));
+    }
+
+    /** Gets the soft limit
+     *
+     * @return the time after which no new iteration starts, in milliseconds
+     */
+    public long getSoftLimit() {
+        return this.softLimit;
+    }
+
+    /** Gets the hard limit
+     *
+     * @return the time after which the search stops, in milliseconds
+     */
+    public long getHardLimit() {
+        return this.hardLimit;
+    }
+
+    /** Checks if the next iteration is worth starting
+     * <p>
+     * The next iteration is expected to take the time of the last one times the growth from the one before it. It is
+     * not started when the soft limit has passed or when it is not expected to finish before the hard limit.
+     *
+     * @param elapsed the time spent on the move so far
+     * @param lastIteration the time of the last iteration
+     * @param previousIteration the time of the iteration before it, 0 if there is none
+     * @return true if the next iteration should be started
+     */
+    public boolean canStartIteration(final long elapsed, final long lastIteration, final long previousIteration) {
+        if (this == NONE) {
+            return true;
+        }
+        final long growth = previousIteration > 0 ? Math.max(2, Math.min(lastIteration / previousIteration, 8)) : 4;
+        return elapsed < this.softLimit && elapsed + lastIteration * growth <= this.hardLimit;
+    }
+
+    @Override
+    public String toString() {
+        return this == NONE ? "no limit" : "soft " + this.softLimit + " ms, hard " + this.hardLimit + " ms";
+    }
+}
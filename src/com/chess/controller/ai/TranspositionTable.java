@@ -0,0 +1,168 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.MoveEncoding;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size table of search results, keyed by the Zobrist key of the position.
+ * <p>
+ * The table is one long array of buckets. A bucket holds two entries: the first keeps the deepest result, the second
+ * always takes the newest one. An entry is two longs, the data and the key xor the data. Searches on several threads
+ * can share a table without locks: a write torn by another thread no longer matches its key and is read as a miss.
+ * <p>
+ * The data of an entry is packed as:
+ * <pre>
+ *  bits  0 - 31 : the score
+ *  bits 32 - 53 : the best move, see {@link MoveEncoding}
+ *  bits 54 - 61 : the remaining depth of the search that found the score
+ *  bits 62 - 63 : the bound, never 0 so the data of an entry is never 0
+ * </pre>
+ */
+public final class TranspositionTable {
+
+    /** The default size of a table in megabytes */
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    /** The value returned by {@link #probe(long)} when the position is not in the table */
+    public static final long MISS = 0L;
+
+    /** The score is the exact value of the position */
+    public static final int EXACT = 1;
+    /** The position is worth at least the score, the search failed high */
+    public static final int LOWER_BOUND = 2;
+    /** The position is worth at most the score, the search failed low */
+    public static final int UPPER_BOUND = 3;
+
+    /** The number of longs in a bucket, two entries of two longs */
+    private static final int BUCKET_LONGS = 4;
+    /** The highest depth an entry can hold */
+    private static final int MAX_DEPTH = 255;
+
+    /** The buckets */
+    private final long[] table;
+    /** The number of buckets minus one, the number of buckets is a power of two */
+    private final int bucketMask;
+
+    /** Constructor
+     *
+     * @param sizeInMegabytes the size of the table, rounded down to a power of two number of buckets
+     */
+    public TranspositionTable(final int sizeInMegabytes) {
+        if (sizeInMegabytes <= 0) {
+            throw new RuntimeException("The transposition table needs at least one megabyte!");
+        }
+        final long buckets = Long.highestOneBit(sizeInMegabytes * 1024L * 1024L / (BUCKET_LONGS * Long.BYTES));
+        this.table = new long[(int) Math.min(buckets * BUCKET_LONGS, 1 << 30)]; /* the largest power of two array */
+        this.bucketMask = this.table.length / BUCKET_LONGS - 1;
+    }
+
+    /** Constructor with the default size */
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    /** Looks up a position
+     *
+     * @param key the Zobrist key of the position
+     * @return the data of the entry, or {@link #MISS}
+     */
+    public long probe(final long key) {
+        final int index = bucketIndex(key);
+        for (int slot = index; slot < index + BUCKET_LONGS; slot += 2) {
+            final long data = this.table[slot + 1];
+            if ((this.table[slot] ^ data) == key && data != MISS) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /** Stores a search result
+     * <p>
+     * The result goes to the first entry of its bucket if it is as deep as the result there or of the same position,
+     * otherwise it replaces the second entry. A result without a best move keeps the best move stored for the position.
+     *
+     * @param key the Zobrist key of the position
+     * @param depth the remaining depth of the search
+     * @param bound the bound, {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param score the score
+     * @param bestMove the best move, or {@link MoveEncoding#NO_MOVE}
+     */
+    public void store(final long key, final int depth, final int bound, final int score, final int bestMove) {
+        final int index = bucketIndex(key);
+        final long deepData = this.table[index + 1];
+        final boolean samePosition = (this.table[index] ^ deepData) == key && deepData != MISS;
+        final int slot = samePosition || deepData == MISS || depth >= getDepth(deepData) ? index : index + 2;
+        int move = bestMove;
+        if (move == MoveEncoding.NO_MOVE) { /* keep the move a shallower search found */
+            final long previous = probe(key);
+            move = previous == MISS ? MoveEncoding.NO_MOVE : getMove(previous);
+        }
+        final long data = pack(Math.min(depth, MAX_DEPTH), bound, score, move);
+        this.table[slot] = key ^ data;
+        this.table[slot + 1] = data;
+    }
+
+    /** Removes every entry */
+    public void clear() {
+        Arrays.fill(this.table, 0L);
+    }
+
+    /** Gets the score of an entry
+     *
+     * @param data the data of the entry
+     * @return the score
+     */
+    public static int getScore(final long data) {
+        return (int) data;
+    }
+
+    /** Gets the best move of an entry
+     *
+     * @param data the data of the entry
+     * @return the best move, or {@link MoveEncoding#NO_MOVE}
+     */
+    public static int getMove(final long data) {
+        return (int) (data >>> 32) & 0x3FFFFF;
+    }
+
+    /** Gets the depth of an entry
+     *
+     * @param data the data of the entry
+     * @return the remaining depth of the search that stored it
+     */
+    public static int getDepth(final long data) {
+        return (int) (data >>> 54) & MAX_DEPTH;
+    }
+
+    /** Gets the bound of an entry
+     *
+     * @param data the data of the entry
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    public static int getBound(final long data) {
+        return (int) (data >>> 62);
+    }
+
+    /** Packs the data of an entry
+     *
+     * @param depth the depth
+     * @param bound the bound
+     * @param score the score
+     * @param move the best move
+     * @return the data
+     */
+    private static long pack(final int depth, final int bound, final int score, final int move) {
+        return (score & 0xFFFFFFFFL) | ((long) move << 32) | ((long) depth << 54) | ((long) bound << 62);
+    }
+
+    /** Gets the index of the first long of the bucket of a key
+     *
+     * @param key the Zobrist key
+     * @return the index
+     */
+    private int bucketIndex(final long key) {
+        return ((int) key & this.bucketMask) * BUCKET_LONGS;
+    }
+}
@@ -0,0 +1,537 @@
+package com.chess.controller.ai;
+
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.board.Move.MoveFactory;
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.board.MutableBoard;
+import com.chess.controller.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Observable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+import static com.chess.controller.ai.NegamaxSearch.INFINITY;
+import static com.chess.model.board.BoardUtils.mvvlva;
+
+/**
+ * AI that searches alpha-beta in parallel below the root with the Young Brothers Wait concept.
+ * <p>
+ * At every node with enough depth left the eldest child is searched first, on the thread that reached the node. Only
+ * when it does not cut off are its younger brothers searched, as tasks of a work-stealing {@link ForkJoinPool}: idle
+ * threads steal them, and the thread of the node helps while it waits. A node that is split this way is a
+ * {@link SplitPoint}; its brothers share its bound, and a brother that cuts off aborts the brothers still running,
+ * and everything below them. The search is negamax, values are seen from the side to move.
+ */
+public class YoungBrothersWait extends Observable implements MoveStrategy {
+
+    /** Nodes with less depth left are searched on the thread that reached them */
+    private static final int MIN_SPLIT_DEPTH = 3;
+
+    /** The evaluator */
+    private final BoardEvaluator evaluator;
+    /** The depth to search to */
+    private final int searchDepth;
+    /** The number of threads */
+    private final int parallelism;
+    /** The results of searched positions, shared by the threads */
+    private final TranspositionTable transpositionTable;
+    /** The search state of the tasks that are not running */
+    private final Queue<SearchContext> idleContexts;
+    /** Every search state created */
+    private final Queue<SearchContext> contexts;
+
+    /** The handle of the running search */
+    private SearchHandle handle;
+    /** The number of boards evaluated by the last search */
+    private long boardsEvaluated;
+    /** The number of nodes below the root the last search split */
+    private long splits;
+    /** The number of younger brothers of the last search a cutoff at their split point or above aborted */
+    private long aborts;
+
+    /** Constructor, one thread per processor
+     *
+     * @param searchDepth the depth to search to
+     */
+    public YoungBrothersWait(final int searchDepth) {
+        this(searchDepth, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Constructor
+     *
+     * @param searchDepth the depth to search to
+     * @param parallelism the number of threads
+     */
+    public YoungBrothersWait(final int searchDepth, final int parallelism) {
+        this(searchDepth, parallelism, new TranspositionTable());
+    }
+
+    /** Constructor with a transposition table, which can be shared with other YoungBrothersWait searches
+     *
+     * @param searchDepth the depth to search to
+     * @param parallelism the number of threads
+     * @param transpositionTable the transposition table
+     */
+    public YoungBrothersWait(final int searchDepth,
+                             final int parallelism,
+                             final TranspositionTable transpositionTable) {
+        if (parallelism < 1) {
+            throw new RuntimeException("A search needs at least one thread!");
+        }
+        this.evaluator = StandardBoardEvaluator.get();
+        this.searchDepth = Math.min(searchDepth, MoveStack.MAX_SEARCH_PLY - 1);
+        this.parallelism = parallelism;
+        this.transpositionTable = transpositionTable;
+        this.idleContexts = new ConcurrentLinkedQueue<>();
+        this.contexts = new ConcurrentLinkedQueue<>();
+        this.handle = SearchHandle.unlimited();
+    }
+
+    @Override
+    public String toString() {
+        return "YBWC(" + this.parallelism + ")";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    /** Gets the number of nodes below the root the last search split, searching their younger brothers in parallel
+     *
+     * @return the number of split points
+     */
+    public long getSplits() {
+        return this.splits;
+    }
+
+    /** Gets the number of younger brothers of the last search that were aborted, before or while they were searched,
+     * because a brother cut off at their split point or above
+     *
+     * @return the number of aborted brothers
+     */
+    public long getAborts() {
+        return this.aborts;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, SearchHandle.unlimited());
+    }
+
+    @Override
+    public Move execute(final Board board, final SearchHandle handle) {
+        final long startTime = System.currentTimeMillis();
+        final Player currentPlayer = board.currentPlayer();
+        this.handle = handle;
+        System.out.println(currentPlayer + " THINKING with depth = " + this.searchDepth + " on " + this.parallelism + " threads");
+        final MutableBoard searchBoard = new MutableBoard(board);
+        final List<Move> rootMoves = legalRootMoves(board, searchBoard);
+        if (rootMoves.isEmpty()) {
+            return MoveFactory.getNullMove();
+        }
+        handle.update(rootMoves.get(0));
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        final Move bestMove;
+        try {
+            bestMove = pool.invoke(ForkJoinTask.adapt(() -> searchRoot(searchBoard, rootMoves)));
+        } finally {
+            pool.shutdown();
+        }
+        this.boardsEvaluated = 0;
+        this.splits = 0;
+        this.aborts = 0;
+        for (final SearchContext context : this.contexts) {
+            this.boardsEvaluated += context.boardsEvaluated;
+            this.splits += context.splits;
+            this.aborts += context.aborts;
+            context.boardsEvaluated = 0;
+            context.splits = 0;
+            context.aborts = 0;
+            context.nodes = 0;
+            context.moveHistory.age();
+        }
+        final long executionTime = Math.max(System.currentTimeMillis() - startTime, 1);
+        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, rate = %.1f\n", currentPlayer,
+                bestMove, this.boardsEvaluated, executionTime, (1000 * ((double) this.boardsEvaluated / executionTime)));
+        return bestMove;
+    }
+
+    /** Searches the root, the eldest move alone and the others in parallel
+     *
+     * @param board the search board of the root
+     * @param rootMoves the legal moves of the root, best ordered first
+     * @return the best move
+     */
+    private Move searchRoot(final MutableBoard board, final List<Move> rootMoves) {
+        final SearchContext context = acquireContext();
+        final Move eldestMove = rootMoves.get(0);
+        board.makeMove(MoveFactory.encode(eldestMove));
+        final int eldestValue = -search(board, this.searchDepth - 1, -INFINITY, INFINITY, null, context);
+        board.unmakeMove();
+        releaseContext(context);
+        if (this.handle.isStopped()) {
+            return eldestMove;
+        }
+        final SplitPoint root = new SplitPoint(null, eldestValue, INFINITY, eldestValue, MoveFactory.encode(eldestMove));
+        final List<ForkJoinTask<?>> brothers = new ArrayList<>();
+        for (final Move move : rootMoves.subList(1, rootMoves.size())) {
+            final int searchMove = MoveFactory.encode(move);
+            brothers.add(ForkJoinTask.adapt(() -> searchBrother(board, searchMove, this.searchDepth, root)));
+        }
+        ForkJoinTask.invokeAll(brothers);
+        final int bestMove = root.getBestMove();
+        for (final Move move : rootMoves) {
+            if (MoveFactory.encode(move) == bestMove) {
+                this.handle.update(move);
+                return move;
+            }
+        }
+        throw new RuntimeException("The best move is not a root move!");
+    }
+
+    /** Searches a younger brother on a copy of the board of its split point
+     *
+     * @param parentBoard the board of the split point, not changed
+     * @param move the move to the brother
+     * @param depth the depth left at the split point
+     * @param splitPoint the split point
+     */
+    private void searchBrother(final MutableBoard parentBoard,
+                               final int move,
+                               final int depth,
+                               final SplitPoint splitPoint) {
+        final SearchContext context = acquireContext();
+        try {
+            if (splitPoint.isAborted()) {
+                context.aborts++;
+                return;
+            }
+            if (this.handle.isStopped()) {
+                return;
+            }
+            final MutableBoard board = new MutableBoard(parentBoard);
+            board.makeMove(move);
+            final int value = -search(board, depth - 1, -splitPoint.getBeta(), -splitPoint.getAlpha(), splitPoint, context);
+            if (splitPoint.isAborted()) {      /* an aborted search proves nothing */
+                context.aborts++;
+            } else if (!this.handle.isStopped()) {
+                splitPoint.offer(value, move);
+            }
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    /** Searches a node
+     *
+     * @param board the board
+     * @param depth the depth left
+     * @param alpha the value the side to move has for sure
+     * @param beta the value the opponent has for sure
+     * @param splitPoint the nearest split point above the node, null if there is none
+     * @param context the search state of the thread
+     * @return the value of the board for the side to move, meaningless once the search was aborted
+     */
+    private int search(final MutableBoard board,
+                       final int depth,
+                       final int alpha,
+                       final int beta,
+                       final SplitPoint splitPoint,
+                       final SearchContext context) {
+        if (isAborted(splitPoint, context)) {
+            return 0;
+        }
+        if (depth == 0 || board.getPly() == MoveStack.MAX_SEARCH_PLY) {
+            context.boardsEvaluated++;
+            return NegamaxSearch.evaluate(this.evaluator, board, depth);
+        }
+        final long key = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        if (NegamaxSearch.isUsable(entry, depth, alpha, beta)) {
+            return TranspositionTable.getScore(entry);
+        }
+        final int ply = board.getPly();
+        final MovePicker movePicker = context.movePickers[ply];
+        movePicker.reset(board, TranspositionTable.getMove(entry), context.moveHistory, false);
+        int bestValue = -INFINITY;
+        int bestMove = MoveEncoding.NO_MOVE;
+        int currentAlpha = alpha;
+        for (int move = movePicker.next(); move != MoveEncoding.NO_MOVE; move = movePicker.next()) {
+            if (board.makeMove(move)) {     /* the eldest brother, alone */
+                bestValue = -search(board, depth - 1, -beta, -currentAlpha, splitPoint, context);
+                board.unmakeMove();
+                bestMove = move;
+                break;
+            }
+        }
+        if (bestMove == MoveEncoding.NO_MOVE) {     /* checkmate or stalemate */
+            context.boardsEvaluated++;
+            final int value = NegamaxSearch.evaluate(this.evaluator, board, depth);
+            this.transpositionTable.store(key, depth, TranspositionTable.EXACT, value, MoveEncoding.NO_MOVE);
+            return value;
+        }
+        if (isAborted(splitPoint, context)) {
+            return 0;
+        }
+        currentAlpha = Math.max(currentAlpha, bestValue);
+        if (currentAlpha < beta) {
+            if (depth >= MIN_SPLIT_DEPTH) {     /* the younger brothers, in parallel */
+                final List<Integer> youngerBrothers = new ArrayList<>();    /* picked only now the node splits */
+                for (int move = movePicker.next(); move != MoveEncoding.NO_MOVE; move = movePicker.next()) {
+                    if (board.makeMove(move)) {
+                        board.unmakeMove();
+                        youngerBrothers.add(move);
+                    }
+                }
+                if (!youngerBrothers.isEmpty()) {
+                    final SplitPoint node = new SplitPoint(splitPoint, currentAlpha, beta, bestValue, bestMove);
+                    context.splits++;
+                    final List<ForkJoinTask<?>> brothers = new ArrayList<>();
+                    for (final int move : youngerBrothers) {
+                        brothers.add(ForkJoinTask.adapt(() -> searchBrother(board, move, depth, node)));
+                    }
+                    ForkJoinTask.invokeAll(brothers);
+                    if (isAborted(splitPoint, context)) {
+                        return 0;
+                    }
+                    bestValue = node.getBestValue();
+                    bestMove = node.getBestMove();
+                }
+            } else {                            /* the younger brothers, one after the other */
+                for (int move = movePicker.next(); move != MoveEncoding.NO_MOVE; move = movePicker.next()) {
+                    if (board.makeMove(move)) {
+                        final int value = -search(board, depth - 1, -beta, -currentAlpha, splitPoint, context);
+                        board.unmakeMove();
+                        if (isAborted(splitPoint, context)) {
+                            return 0;
+                        }
+                        if (value > bestValue) {
+                            bestValue = value;
+                            bestMove = move;
+                            currentAlpha = Math.max(currentAlpha, value);
+                        }
+                        if (currentAlpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        if (bestValue >= beta) {
+            context.moveHistory.update(bestMove, ply, depth, board.getSideToMove());
+            context.moveHistory.updateCounterMove(board.getLastMove(0), bestMove);
+        }
+        this.transpositionTable.store(key, depth, NegamaxSearch.boundOf(bestValue, alpha, beta), bestValue, bestMove);
+        return bestValue;
+    }
+
+    /** Checks if the search of a node has to stop, looking at the handle every few thousand nodes
+     *
+     * @param splitPoint the nearest split point above the node
+     * @param context the search state of the thread
+     * @return true if the search was stopped or a split point above the node cut off
+     */
+    private boolean isAborted(final SplitPoint splitPoint, final SearchContext context) {
+        if ((++context.nodes & (SearchHandle.CHECK_INTERVAL - 1)) == 0) {
+            this.handle.shouldStop(context.nodes);
+        }
+        return this.handle.isStopped() || (splitPoint != null && splitPoint.isAborted());
+    }
+
+    /** Takes an idle search state, or creates one
+     *
+     * @return the search state
+     */
+    private SearchContext acquireContext() {
+        final SearchContext context = this.idleContexts.poll();
+        if (context != null) {
+            return context;
+        }
+        final SearchContext created = new SearchContext();
+        this.contexts.add(created);
+        return created;
+    }
+
+    /** Gives back a search state
+     *
+     * @param context the search state
+     */
+    private void releaseContext(final SearchContext context) {
+        this.idleContexts.add(context);
+    }
+
+    /** Gets the legal moves of the root, captures first
+     *
+     * @param board the board
+     * @param searchBoard the search board of the board
+     * @return the legal moves
+     */
+    private static List<Move> legalRootMoves(final Board board, final MutableBoard searchBoard) {
+        final int[] searchMoves = new int[MutableBoard.MAX_MOVES];
+        final int numSearchMoves = searchBoard.generateMoves(searchMoves, 0);
+        final List<Move> legalMoves = new ArrayList<>();
+        for (final Move move : board.currentPlayer().getLegalMoves().stream()
+                .sorted(Comparator.comparingInt((Move move) -> mvvlva(move)).reversed())
+                .collect(Collectors.toList())) {
+            final int searchMove = MoveFactory.encode(move);
+            if (contains(searchMoves, numSearchMoves, searchMove) && searchBoard.makeMove(searchMove)) {
+                searchBoard.unmakeMove();
+                legalMoves.add(move);
+            }
+        }
+        return legalMoves;
+    }
+
+    /** Checks if a move was generated
+     *
+     * @param moves the generated moves
+     * @param count the number of moves
+     * @param move the move
+     * @return true if the move is one of the moves
+     */
+    private static boolean contains(final int[] moves, final int count, final int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The search state of a task: its move lists, move history and counters. A task takes one when it starts and gives
+     * it back when it ends, so a thread that runs another task while it waits at a split point does not overwrite its
+     * move lists.
+     */
+    private static final class SearchContext {
+
+        /** The move lists */
+        private final MoveStack moveStack = new MoveStack();
+        /** The move pickers of the nodes, one per ply, sharing the move lists */
+        private final MovePicker[] movePickers = new MovePicker[MoveStack.MAX_SEARCH_PLY];
+        /** The killers and history of the quiet moves */
+        private final MoveHistory moveHistory = new MoveHistory();
+        /** The number of nodes searched */
+        private long nodes;
+        /** The number of boards evaluated */
+        private long boardsEvaluated;
+        /** The number of nodes split */
+        private long splits;
+        /** The number of younger brothers aborted */
+        private long aborts;
+
+        /** Constructor */
+        SearchContext() {
+            for (int i = 0; i < this.movePickers.length; i++) {
+                this.movePickers[i] = new MovePicker(this.moveStack);
+            }
+        }
+    }
+
+    /**
+     * A node whose younger brothers are searched in parallel. The brothers share its bound and best move, and the
+     * first one to cut off aborts the others.
+     */
+    private static final class SplitPoint {
+
+        /** The nearest split point above, null at the top */
+        private final SplitPoint parent;
+        /** The value the opponent has for sure */
+        private final int beta;
+        /** The value the side to move has for sure */
+        private volatile int alpha;
+        /** Whether a brother cut off */
+        private volatile boolean cutoff;
+        /** The best value found */
+        private int bestValue;
+        /** The move of the best value */
+        private int bestMove;
+
+        /** Constructor
+         *
+         * @param parent the nearest split point above
+         * @param alpha the value the side to move has for sure after the eldest brother
+         * @param beta the value the opponent has for sure
+         * @param bestValue the value of the eldest brother
+         * @param bestMove the eldest brother
+         */
+        SplitPoint(final SplitPoint parent, final int alpha, final int beta, final int bestValue, final int bestMove) {
+            this.parent = parent;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.bestValue = bestValue;
+            this.bestMove = bestMove;
+        }
+
+        /** Checks if this split point or one above it cut off
+         *
+         * @return true if the search below this split point is useless
+         */
+        boolean isAborted() {
+            for (SplitPoint splitPoint = this; splitPoint != null; splitPoint = splitPoint.parent) {
+                if (splitPoint.cutoff) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Gets the value the side to move has for sure
+         *
+         * @return alpha
+         */
+        int getAlpha() {
+            return this.alpha;
+        }
+
+        /** Gets the value the opponent has for sure
+         *
+         * @return beta
+         */
+        int getBeta() {
+            return this.beta;
+        }
+
+        /** Offers the value of a brother
+         *
+         * @param value the value
+         * @param move the move to the brother
+         */
+        synchronized void offer(final int value, final int move) {
+            if (value > this.bestValue) {
+                this.bestValue = value;
+                this.bestMove = move;
+                if (value > this.alpha) {
+                    this.alpha = value;
+                }
+                if (value >= this.beta) {
+                    this.cutoff = true;
+                }
+            }
+        }
+
+        /** Gets the best value found
+         *
+         * @return the value
+         */
+        synchronized int getBestValue() {
+            return this.bestValue;
+        }
+
+        /** Gets the move of the best value
+         *
+         * @return the move
+         */
+        synchronized int getBestMove() {
+            return this.bestMove;
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.chess.model.board;
+
+import com.chess.controller.Alliance;
+import com.chess.model.pieces.Piece;
+import com.chess.model.pieces.PieceType;
+
+import java.util.Map;
+
+/**
+ * The bitboard representation of a position.
+ * <p>
+ * Every piece type of every alliance is stored as one 64-bit long where bit <code>i</code> is set when the
+ * tile with coordinate <code>i</code> (0 = a8, 63 = h1) holds such a piece. Occupancy masks for both alliances
+ * and for the whole board are kept next to them, together with a mailbox of the piece objects so that
+ * <code>Board.getTile(int)</code> can still hand out tiles.
+ */
+public final class BitBoard {
+
+    /** Number of piece types per alliance */
+    public static final int NUM_PIECE_TYPES = PieceType.values().length;
+
+    /** An empty bitboard */
+    public static final long EMPTY = 0L;
+
+    /** The files (columns) as masks, index 0 is the a file */
+    public static final long[] FILES = initFiles();
+
+    /** The ranks (rows) as masks, index 0 is the eighth rank (tiles 0 - 7) */
+    public static final long[] ROWS = initRows();
+
+    /** The steps of a knight as {file step, row step} */
+    private static final int[][] KNIGHT_STEPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    /** The steps of a king as {file step, row step} */
+    private static final int[][] KING_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    /** The tiles strictly between two tiles on a common line, indexed by [from][to], empty if not aligned */
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    /** The whole line (rank, file or diagonal) through two tiles, indexed by [from][to], empty if not aligned */
+    private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    /** The tiles a knight attacks from every tile */
+    private static final long[] KNIGHT_ATTACKS = new long[BoardUtils.NUM_TILES];
+    /** The tiles a king attacks from every tile */
+    private static final long[] KING_ATTACKS = new long[BoardUtils.NUM_TILES];
+    /** The tiles a pawn attacks from every tile, indexed by [alliance ordinal][tile] */
+    private static final long[][] PAWN_ATTACKS = new long[2][BoardUtils.NUM_TILES];
+
+    static {
+        initLines();
+        initLeapers();
+    }
+
+    /** The bitboards of every piece type, indexed by {@link #index(PieceType, Alliance)} */
+    private final long[] pieceBoards;
+    /** The tiles occupied by each alliance, indexed by alliance ordinal */
+    private final long[] allianceOccupancy;
+    /** The tiles occupied by any piece */
+    private final long occupancy;
+    /** The pieces by tile coordinate */
+    private final Piece[] mailbox;
+
+    /** Constructor
+     *
+     * @param boardConfig the pieces by tile coordinate
+     */
+    BitBoard(final Map<Integer, Piece> boardConfig) {
+        this.pieceBoards = new long[2 * NUM_PIECE_TYPES];
+        this.allianceOccupancy = new long[2];
+        this.mailbox = new Piece[BoardUtils.NUM_TILES];
+        long allPieces = EMPTY;
+        for (final Piece piece : boardConfig.values()) { /* for each piece of the configuration */
+            final int position = piece.getPiecePosition();
+            final long square = squareMask(position);
+            this.pieceBoards[index(piece.getPieceType(), piece.getPieceAlliance())] |= square;
+            this.allianceOccupancy[piece.getPieceAlliance().ordinal()] |= square;
+            this.mailbox[position] = piece;
+            allPieces |= square;
+        }
+        this.occupancy = allPieces;
+    }
+
+    /** Gets the index of a piece type and alliance into the piece bitboards
+     *
+     * @param pieceType the piece type
+     * @param alliance the alliance
+     * @return the index
+     */
+    public static int index(final PieceType pieceType, final Alliance alliance) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    /** Gets the mask of a single tile
+     *
+     * @param tileCoordinate the tile coordinate
+     * @return a bitboard with only that tile set
+     */
+    public static long squareMask(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    /** Gets the lowest tile coordinate set in a bitboard
+     *
+     * @param bitboard the bitboard, must not be empty
+     * @return the tile coordinate
+     */
+    public static int firstSquare(final long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    /** Counts the tiles set in a bitboard
+     *
+     * @param bitboard the bitboard
+     * @return the number of tiles set
+     */
+    public static int count(final long bitboard) {
+        return Long.bitCount(bitboard);
+    }
+
+    /** Checks if a tile is set in a bitboard
+     *
+     * @param bitboard the bitboard
+     * @param tileCoordinate the tile coordinate
+     * @return true if the tile is set
+     */
+    public static boolean isSet(final long bitboard, final int tileCoordinate) {
+        return (bitboard & squareMask(tileCoordinate)) != 0;
+    }
+
+    /** Gets the bitboard of a piece type of an alliance
+     *
+     * @param pieceType the piece type
+     * @param alliance the alliance
+     * @return the bitboard
+     */
+    public long getPieces(final PieceType pieceType, final Alliance alliance) {
+        return this.pieceBoards[index(pieceType, alliance)];
+    }
+
+    /** Gets the tiles occupied by an alliance
+     *
+     * @param alliance the alliance
+     * @return the occupancy of the alliance
+     */
+    public long getOccupancy(final Alliance alliance) {
+        return this.allianceOccupancy[alliance.ordinal()];
+    }
+
+    /** Gets the tiles occupied by any piece
+     *
+     * @return the occupancy of the board
+     */
+    public long getOccupancy() {
+        return this.occupancy;
+    }
+
+    /** Gets the empty tiles
+     *
+     * @return the empty tiles
+     */
+    public long getEmptyTiles() {
+        return ~this.occupancy;
+    }
+
+    /** Checks if a tile is occupied
+     *
+     * @param tileCoordinate the tile coordinate
+     * @return true if a piece is on the tile
+     */
+    public boolean isOccupied(final int tileCoordinate) {
+        return isSet(this.occupancy, tileCoordinate);
+    }
+
+    /** Checks if a tile is occupied by an alliance
+     *
+     * @param tileCoordinate the tile coordinate
+     * @param alliance the alliance
+     * @return true if a piece of the alliance is on the tile
+     */
+    public boolean isOccupied(final int tileCoordinate, final Alliance alliance) {
+        return isSet(this.allianceOccupancy[alliance.ordinal()], tileCoordinate);
+    }
+
+    /** Gets the piece on a tile
+     *
+     * @param tileCoordinate the tile coordinate
+     * @return the piece, or null if the tile is empty
+     */
+    public Piece getPiece(final int tileCoordinate) {
+        return this.mailbox[tileCoordinate];
+    }
+
+    /** Counts the pieces of a type of an alliance
+     *
+     * @param pieceType the piece type
+     * @param alliance the alliance
+     * @return the number of pieces
+     */
+    public int count(final PieceType pieceType, final Alliance alliance) {
+        return count(getPieces(pieceType, alliance));
+    }
+
+    /** Counts the pieces of a type of an alliance on every file
+     *
+     * @param pieceType the piece type
+     * @param alliance the alliance
+     * @return the number of pieces on each file, index 0 is the a file
+     */
+    public int[] countPerFile(final PieceType pieceType, final Alliance alliance) {
+        return countPerFile(getPieces(pieceType, alliance));
+    }
+
+    /** Counts the tiles set in a bitboard on every file
+     *
+     * @param pieces the bitboard
+     * @return the number of tiles set on each file, index 0 is the a file
+     */
+    public static int[] countPerFile(final long pieces) {
+        final int[] table = new int[BoardUtils.NUM_TILES_PER_ROW];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = count(pieces & FILES[i]);
+        }
+        return table;
+    }
+
+    /** Gets the tiles a pawn attacks
+     *
+     * @param tileCoordinate the tile of the pawn
+     * @param alliance the alliance of the pawn
+     * @return the attacked tiles
+     */
+    public static long pawnAttacks(final int tileCoordinate, final Alliance alliance) {
+        return pawnAttacks(tileCoordinate, alliance.ordinal());
+    }
+
+    /** Gets the tiles a pawn attacks
+     *
+     * @param tileCoordinate the tile of the pawn
+     * @param alliance the alliance ordinal of the pawn
+     * @return the attacked tiles
+     */
+    public static long pawnAttacks(final int tileCoordinate, final int alliance) {
+        return PAWN_ATTACKS[alliance][tileCoordinate];
+    }
+
+    /** Gets the tiles a knight attacks
+     *
+     * @param tileCoordinate the tile of the knight
+     * @return the attacked tiles
+     */
+    public static long knightAttacks(final int tileCoordinate) {
+        return KNIGHT_ATTACKS[tileCoordinate];
+    }
+
+    /** Gets the tiles a king attacks
+     *
+     * @param tileCoordinate the tile of the king
+     * @return the attacked tiles
+     */
+    public static long kingAttacks(final int tileCoordinate) {
+        return KING_ATTACKS[tileCoordinate];
+    }
+
+    /** Gets the tiles a bishop attacks, up to and including the first occupied tile of every diagonal
+     *
+     * @param tileCoordinate the tile of the bishop
+     * @param occupied the occupied tiles
+     * @return the attacked tiles
+     */
+    public static long bishopAttacks(final int tileCoordinate, final long occupied) {
+        return MagicBitBoards.bishopAttacks(tileCoordinate, occupied);
+    }
+
+    /** Gets the tiles a rook attacks, up to and including the first occupied tile of every line
+     *
+     * @param tileCoordinate the tile of the rook
+     * @param occupied the occupied tiles
+     * @return the attacked tiles
+     */
+    public static long rookAttacks(final int tileCoordinate, final long occupied) {
+        return MagicBitBoards.rookAttacks(tileCoordinate, occupied);
+    }
+
+    /** Gets the tiles a queen attacks
+     *
+     * @param tileCoordinate the tile of the queen
+     * @param occupied the occupied tiles
+     * @return the attacked tiles
+     */
+    public static long queenAttacks(final int tileCoordinate, final long occupied) {
+        return bishopAttacks(tileCoordinate, occupied) | rookAttacks(tileCoordinate, occupied);
+    }
+
+    /** Gets the tiles strictly between two tiles
+     *
+     * @param from the first tile
+     * @param to the second tile
+     * @return the tiles in between, empty if the tiles do not share a rank, file or diagonal
+     */
+    public static long between(final int from, final int to) {
+        return BETWEEN[from][to];
+    }
+
+    /** Gets the rank, file or diagonal through two tiles
+     *
+     * @param from the first tile
+     * @param to the second tile
+     * @return the whole line through both tiles, empty if the tiles do not share a rank, file or diagonal
+     */
+    public static long line(final int from, final int to) {
+        return LINE[from][to];
+    }
+
+    /** Gets the pieces of an alliance that attack a tile
+     *
+     * @param tileCoordinate the tile coordinate
+     * @param alliance the attacking alliance
+     * @param occupied the occupied tiles the sliding pieces are blocked by
+     * @return the attacking pieces
+     */
+    public long attackersOf(final int tileCoordinate, final Alliance alliance, final long occupied) {
+        final long queens = getPieces(PieceType.QUEEN, alliance);
+        return (pawnAttacks(tileCoordinate, alliance.ordinal() ^ 1) & getPieces(PieceType.PAWN, alliance)) |
+                (knightAttacks(tileCoordinate) & getPieces(PieceType.KNIGHT, alliance)) |
+                (kingAttacks(tileCoordinate) & getPieces(PieceType.KING, alliance)) |
+                (bishopAttacks(tileCoordinate, occupied) & (getPieces(PieceType.BISHOP, alliance) | queens)) |
+                (rookAttacks(tileCoordinate, occupied) & (getPieces(PieceType.ROOK, alliance) | queens));
+    }
+
+    /** Checks if any piece of an alliance attacks a tile
+     * <p>
+     * The attacks are looked up backwards from the tile: a piece of a type attacks the tile exactly when a piece of
+     * the same type on the tile would attack it. The cheap leapers are checked before the sliders.
+     *
+     * @param tileCoordinate the tile coordinate
+     * @param alliance the attacking alliance
+     * @return true if the tile is attacked
+     */
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance alliance) {
+        if ((pawnAttacks(tileCoordinate, alliance.ordinal() ^ 1) & getPieces(PieceType.PAWN, alliance)) != EMPTY ||
+                (knightAttacks(tileCoordinate) & getPieces(PieceType.KNIGHT, alliance)) != EMPTY ||
+                (kingAttacks(tileCoordinate) & getPieces(PieceType.KING, alliance)) != EMPTY) {
+            return true;
+        }
+        final long queens = getPieces(PieceType.QUEEN, alliance);
+        return (bishopAttacks(tileCoordinate, this.occupancy) & (getPieces(PieceType.BISHOP, alliance) | queens)) != EMPTY ||
+                (rookAttacks(tileCoordinate, this.occupancy) & (getPieces(PieceType.ROOK, alliance) | queens)) != EMPTY;
+    }
+
+    /** Gets the tiles a knight or king attacks, only used to build the tables
+     *
+     * @param tileCoordinate the tile of the piece
+     * @param steps the steps of the piece
+     * @return the attacked tiles
+     */
+    private static long stepAttacks(final int tileCoordinate, final int[][] steps) {
+        long attacks = EMPTY;
+        for (final int[] step : steps) {
+            attacks |= step(tileCoordinate, step[0], step[1]);
+        }
+        return attacks;
+    }
+
+    /** Gets the tiles a sliding piece attacks, up to and including the first occupied tile of every direction
+     * <p>
+     * This walks the rays tile by tile, it is only used to build the tables.
+     *
+     * @param tileCoordinate the tile of the piece
+     * @param occupied the occupied tiles
+     * @param directions the directions the piece slides in
+     * @return the attacked tiles
+     */
+    static long slidingAttacks(final int tileCoordinate, final long occupied, final int[][] directions) {
+        long attacks = EMPTY;
+        for (final int[] direction : directions) {
+            int file = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (file >= 0 && file < BoardUtils.NUM_TILES_PER_ROW && row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW) {
+                final long square = squareMask(row * BoardUtils.NUM_TILES_PER_ROW + file);
+                attacks |= square;
+                if ((occupied & square) != 0) { /* the ray is blocked */
+                    break;
+                }
+                file += direction[0];
+                row += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    /** Gets the tile one step away from a tile
+     *
+     * @param tileCoordinate the tile coordinate
+     * @param fileStep the number of files to step
+     * @param rowStep the number of rows to step
+     * @return the tile as a bitboard, empty if the step leaves the board
+     */
+    private static long step(final int tileCoordinate, final int fileStep, final int rowStep) {
+        final int file = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW + fileStep;
+        final int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW + rowStep;
+        if (file < 0 || file >= BoardUtils.NUM_TILES_PER_ROW || row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW) {
+            return EMPTY;
+        }
+        return squareMask(row * BoardUtils.NUM_TILES_PER_ROW + file);
+    }
+
+    /** Initializes the attack tables of the knight, king and pawns */
+    private static void initLeapers() {
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            KNIGHT_ATTACKS[tile] = stepAttacks(tile, KNIGHT_STEPS);
+            KING_ATTACKS[tile] = stepAttacks(tile, KING_STEPS);
+            PAWN_ATTACKS[Alliance.WHITE.ordinal()][tile] = step(tile, -1, -1) | step(tile, 1, -1);
+            PAWN_ATTACKS[Alliance.BLACK.ordinal()][tile] = step(tile, -1, 1) | step(tile, 1, 1);
+        }
+    }
+
+    /** Initializes the between and line tables by walking every direction from every tile */
+    private static void initLines() {
+        final int[][] directions = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (final int[] direction : directions) {
+                final long ray = slidingAttacks(from, EMPTY, new int[][]{direction});
+                final long opposite = slidingAttacks(from, EMPTY, new int[][]{{-direction[0], -direction[1]}});
+                long between = EMPTY;
+                long walked = ray;
+                int file = from % BoardUtils.NUM_TILES_PER_ROW + direction[0];
+                int row = from / BoardUtils.NUM_TILES_PER_ROW + direction[1];
+                while (walked != EMPTY) { /* every tile along the ray, nearest first */
+                    final int to = row * BoardUtils.NUM_TILES_PER_ROW + file;
+                    BETWEEN[from][to] = between;
+                    LINE[from][to] = ray | opposite | squareMask(from);
+                    between |= squareMask(to);
+                    walked &= ~squareMask(to);
+                    file += direction[0];
+                    row += direction[1];
+                }
+            }
+        }
+    }
+
+    /** Initializes the file masks
+     *
+     * @return the file masks
+     */
+    private static long[] initFiles() {
+        final long[] files = new long[BoardUtils.NUM_TILES_PER_ROW];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            files[i % BoardUtils.NUM_TILES_PER_ROW] |= squareMask(i);
+        }
+        return files;
+    }
+
+    /** Initializes the row masks
+     *
+     * @return the row masks
+     */
+    private static long[] initRows() {
+        final long[] rows = new long[BoardUtils.NUM_TILES_PER_ROW];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            rows[i / BoardUtils.NUM_TILES_PER_ROW] |= squareMask(i);
+        }
+        return rows;
+    }
+}
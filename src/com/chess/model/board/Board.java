@@ -12,13 +12,18 @@ import java.util.*;
  */
 public class Board {
 
-    private final List<Tile> gameBoard; /* the game board */
+    private final BitBoard bitBoard; /* the bitboard representation of the position */
+    private final Tile[] gameBoard; /* the tiles, created on demand from the bitboard */
     private final WhitePlayer whitePlayer; /* the white player */
     private final BlackPlayer blackPlayer; /* the black player */
     private final Collection<Piece> whitePieces; /* the white pieces */
     private final Collection<Piece> blackPieces; /* the black pieces */
     private final Player currentPlayer; /* the current player */
+    private volatile Collection<Move> whiteStandardLegalMoves; /* the white legal moves, calculated on first access */
+    private volatile Collection<Move> blackStandardLegalMoves; /* the black legal moves, calculated on first access */
     private final Pawn enPassantPawn; /* the pawn that can be captured en passant */
+    private final int castlingRights; /* the castling rights, see BoardUtils.calculateCastlingRights */
+    private final long zobristKey; /* the Zobrist key of the position */
     private Move transitionMove; /* the move transition */
     private int moveCount;
     private int halfMoveClock;
@@ -30,19 +35,22 @@ public class Board {
     * @param builder the builder
     */
     private Board(final Builder builder) {
-        this.gameBoard = createGameBoard(builder); /* create the game board */
+        this.bitBoard = new BitBoard(builder.boardConfig); /* create the bitboards */
+        this.gameBoard = new Tile[BoardUtils.NUM_TILES]; /* the tiles are created on demand */
         this.enPassantPawn = builder.enPassantPawn; /* the pawn that can be captured en passant */
         /* the white pieces */
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE); /* calculate the white pieces */
+        this.whitePieces = calculateActivePieces(this.bitBoard, Alliance.WHITE); /* calculate the white pieces */
         /* the black pieces */
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK); /* calculate the black pieces */
+        this.blackPieces = calculateActivePieces(this.bitBoard, Alliance.BLACK); /* calculate the black pieces */
         this.moveCount = builder.moveCount;
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces); /* calculate the white legal moves */
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces); /* calculate the black legal moves */
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves); /* create the white player */
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves); /* create the black player */
+        this.whitePlayer = new WhitePlayer(this); /* create the white player, its moves are calculated when first asked for */
+        this.blackPlayer = new BlackPlayer(this); /* create the black player, its moves are calculated when first asked for */
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer); /* set the current player */
         this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
+        this.castlingRights = BoardUtils.calculateCastlingRights(this); /* the castling rights */
+        /* a move passes the key updated with what it changed, other boards calculate it */
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey ^ Zobrist.castling(this.castlingRights) :
+                Zobrist.calculate(this);
         this.moveTransitionTracker = new MoveTransitionTracker(this);
     }
 
@@ -50,7 +58,7 @@ public class Board {
     public String toString() {
         final StringBuilder builder = new StringBuilder(); /* the string builder */
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) { /* for each tile */
-            final String tileText = this.gameBoard.get(i).toString(); /* get the string representation of the tile, example: "  "  or "wp" */
+            final String tileText = getTile(i).toString(); /* get the string representation of the tile, example: "  "  or "wp" */
             builder.append(String.format("%3s", tileText)); /* append the string representation of the tile to the string builder, %3s = 3 spaces */
             if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) { /* if the tile is at the end of the row */
                 builder.append("\n"); /* append a new line to the string builder */
@@ -75,6 +83,31 @@ public class Board {
         return this.whitePieces;
     }
 
+    /** Get the standard legal moves of an alliance, without castles
+    * <p>
+    * The moves are calculated the first time they are asked for and kept for the lifetime of the board, so boards
+    * that are only evaluated or rejected never generate them.
+    *
+    * @param alliance the alliance
+    * @return the standard legal moves of the alliance
+     */
+    public Collection<Move> getStandardLegalMoves(final Alliance alliance) {
+        if (alliance.isWhite()) {
+            Collection<Move> moves = this.whiteStandardLegalMoves;
+            if (moves == null) { /* first access */
+                moves = calculateLegalMoves(this.whitePieces);
+                this.whiteStandardLegalMoves = moves;
+            }
+            return moves;
+        }
+        Collection<Move> moves = this.blackStandardLegalMoves;
+        if (moves == null) { /* first access */
+            moves = calculateLegalMoves(this.blackPieces);
+            this.blackStandardLegalMoves = moves;
+        }
+        return moves;
+    }
+
     /** Calculate the legal moves for the pieces of a certain alliance
     *
     * @param pieces the pieces
@@ -85,47 +118,104 @@ public class Board {
         for (final Piece piece : pieces) { /* for each piece */
             legalMoves.addAll(piece.calculateLegalMoves(this)); /* add the legal moves of the piece to the list of legal moves */
         }
-        return Collections.unmodifiableList(new LinkedList<Move>(legalMoves)); /* return an unmodifiable list of legal moves */
+        return Collections.unmodifiableList(legalMoves); /* return an unmodifiable list of legal moves */
     }
 
     /** Calculate the active pieces of a given alliance
     *
-    * @param gameBoard the game board
+    * @param bitBoard the bitboards of the position
     * @param alliance the alliance
     * @return a collection of active pieces
      */
-    private static Collection<Piece> calculateActivePieces(List<Tile> gameBoard, Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>(); /* the active pieces */
-        for (final Tile tile : gameBoard) { /* for each tile on the board */
-            if (tile.isTileOccupied()) { /* if the tile is occupied */
-                final Piece piece = tile.getPiece(); /* get the piece */
-                if (piece.getPieceAlliance() == alliance) { /* if the piece is the same alliance */
-                    activePieces.add(piece); /* add the piece to the list of active pieces */
-                }
-            }
+    private static Collection<Piece> calculateActivePieces(final BitBoard bitBoard, final Alliance alliance) {
+        long occupancy = bitBoard.getOccupancy(alliance); /* the tiles occupied by the alliance */
+        final List<Piece> activePieces = new ArrayList<>(BitBoard.count(occupancy)); /* the active pieces */
+        while (occupancy != BitBoard.EMPTY) { /* for each occupied tile, lowest coordinate first */
+            activePieces.add(bitBoard.getPiece(BitBoard.firstSquare(occupancy))); /* add the piece to the list of active pieces */
+            occupancy &= occupancy - 1; /* clear the tile */
         }
         return Collections.unmodifiableList(activePieces); /* return the list of active pieces */
     }
 
-    /** Create the game board
+    /** Get the tile at the given position
+    * <p>
+    * Tiles are only a compatibility view of the bitboards, they are created the first time they are asked for.
     *
-    * @param builder the builder
-     */
-    private static List<Tile> createGameBoard(final Builder builder) {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES]; /* the tiles */
-        for (int i = 0; i < BoardUtils.NUM_TILES; i++) { /* for each tile */
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i)); /* create the tile */
+    * @param tileCoordinate the position of the tile
+    * @return the tile at the given position
+    */
+    public Tile getTile(final int tileCoordinate) {
+        Tile tile = this.gameBoard[tileCoordinate];
+        if (tile == null) { /* create the tile from the mailbox */
+            tile = Tile.createTile(tileCoordinate, this.bitBoard.getPiece(tileCoordinate));
+            this.gameBoard[tileCoordinate] = tile;
         }
-        return Collections.unmodifiableList(new LinkedList<>(List.of(tiles))); /* return the game board */
+        return tile; /* return the tile at the given position */
     }
 
-    /** Get the tile at the given position
+    /** Get the piece at the given position
     *
     * @param tileCoordinate the position of the tile
-    * @return the tile at the given position
+    * @return the piece on the tile, or null if the tile is empty
     */
-    public Tile getTile(final int tileCoordinate) {
-        return gameBoard.get(tileCoordinate); /* return the tile at the given position */
+    public Piece getPiece(final int tileCoordinate) {
+        return this.bitBoard.getPiece(tileCoordinate);
+    }
+
+    /** Checks if the tile at the given position is occupied
+    *
+    * @param tileCoordinate the position of the tile
+    * @return true if a piece is on the tile
+    */
+    public boolean isTileOccupied(final int tileCoordinate) {
+        return this.bitBoard.isOccupied(tileCoordinate);
+    }
+
+    /** Checks if a tile is attacked, without generating any moves
+    *
+    * @param tileCoordinate the position of the tile
+    * @param alliance the attacking alliance
+    * @return true if a piece of the alliance attacks the tile
+    */
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance alliance) {
+        return this.bitBoard.isSquareAttacked(tileCoordinate, alliance);
+    }
+
+    /** Get the pieces attacking a tile, without generating any moves
+    *
+    * @param tileCoordinate the position of the tile
+    * @param alliance the attacking alliance
+    * @return the tiles of the attacking pieces
+    */
+    public long attackersOf(final int tileCoordinate, final Alliance alliance) {
+        return this.bitBoard.attackersOf(tileCoordinate, alliance, this.bitBoard.getOccupancy());
+    }
+
+    /** Get the castling rights
+    *
+    * @return the castling rights, see {@link BoardUtils#calculateCastlingRights(Board)}
+    */
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /** Get the Zobrist key of the position
+    * <p>
+    * Equal positions have equal keys, whatever moves led to them: the key covers the pieces, the side to move, the
+    * castling rights and the en passant file.
+    *
+    * @return the key
+    */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /** Get the bitboard representation of the position
+    *
+    * @return the bitboards
+    */
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
     }
 
     /**
@@ -305,6 +395,7 @@ public class Board {
         public int moveCount;
         Alliance nextMoveMaker; /* the next move maker */
         Pawn enPassantPawn; /* the en passant pawn */
+        Long zobristKey; /* the Zobrist key without castling rights, calculated by the board when not set */
 
         /** Constructor */
         public Builder() {
@@ -348,5 +439,18 @@ public class Board {
         public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        /** Set the Zobrist key of the board, when it is known from the board before a move
+        * <p>
+        * The key leaves out the castling rights. A board has them when its king and rooks are on their home tiles,
+        * which a rook moving back home gives back, so the board adds the rights it calculates itself.
+        *
+        * @param zobristKey the key without castling rights
+        * @return the builder
+         */
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
     }
 }
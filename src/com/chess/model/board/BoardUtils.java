@@ -1,5 +1,6 @@
 package com.chess.model.board;
 
+import com.chess.controller.Alliance;
 import com.chess.model.pieces.King;
 import com.chess.model.pieces.Piece;
 import com.chess.model.pieces.PieceType;
@@ -31,6 +32,14 @@ public class BoardUtils {
     public static final boolean[] SEVENTH_COLUMN = initCol(6);
     public static final boolean[] EIGHTH_COLUMN = initCol(7);
 
+    /* CASTLING RIGHTS */
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    /* the castling rights that are kept when a piece moves from or to a tile */
+    public static final int[] CASTLING_MASK = initCastlingMask();
+
     public static final String[] ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
     public static final Map<String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
 
@@ -142,8 +151,8 @@ public class BoardUtils {
     public static boolean isKingPawnTrap(final Board board,
                                          final King king,
                                          final int frontTile) {
-        // Create the piece on the front tile
-        final Piece piece = board.getTile(frontTile).getPiece();
+        // Get the piece on the front tile
+        final Piece piece = board.getPiece(frontTile);
         // return true if the piece is a pawn and the piece is the same color as the king
         return piece != null &&
                 piece.getPieceType() == PieceType.PAWN &&
@@ -159,6 +168,19 @@ public class BoardUtils {
         return PieceType.KING.getPieceValue() - movingPiece.getPieceValue();
     }
 
+    /** The most valuable victim / least valuable attacker score of an encoded move
+     *
+     * @param move the move, see {@link MoveEncoding}
+     * @return the score, higher is searched first
+     */
+    public static int mvvlva(final int move) {
+        final int movingValue = MoveEncoding.getMovedValue(move);
+        if (MoveEncoding.isCapture(move)) {
+            return (MoveEncoding.getCapturedValue(move) - movingValue + PieceType.KING.getPieceValue()) * 100;
+        }
+        return PieceType.KING.getPieceValue() - movingValue;
+    }
+
     public static List<Move> lastNMoves(final Board board, int N) {
         final List<Move> moveHistory = new ArrayList<>();
         Move currentMove = board.getTransitionMove();
@@ -179,4 +201,63 @@ public class BoardUtils {
     public static boolean kingThreat(Move move) {
         return move.isAttack() && move.getAttackedPiece().getPieceType() == PieceType.KING;
     }
+
+    /** Calculates the castling rights of a board
+     * <p>
+     * A board allows castling as long as the king and the rook are on their first move.
+     *
+     * @param board the board
+     * @return the castling rights, a combination of {@link #WHITE_KING_SIDE}, {@link #WHITE_QUEEN_SIDE},
+     * {@link #BLACK_KING_SIDE} and {@link #BLACK_QUEEN_SIDE}
+     */
+    public static int calculateCastlingRights(final Board board) {
+        int rights = 0;
+        if (isCastleCapable(board, Alliance.WHITE, 60, 63)) {
+            rights |= WHITE_KING_SIDE;
+        }
+        if (isCastleCapable(board, Alliance.WHITE, 60, 56)) {
+            rights |= WHITE_QUEEN_SIDE;
+        }
+        if (isCastleCapable(board, Alliance.BLACK, 4, 7)) {
+            rights |= BLACK_KING_SIDE;
+        }
+        if (isCastleCapable(board, Alliance.BLACK, 4, 0)) {
+            rights |= BLACK_QUEEN_SIDE;
+        }
+        return rights;
+    }
+
+    /** Checks if a king and rook of a board may still castle
+     *
+     * @param board the board
+     * @param alliance the alliance
+     * @param kingSquare the tile the king starts on
+     * @param rookSquare the tile the rook starts on
+     * @return true if both are on their tiles and on their first move
+     */
+    private static boolean isCastleCapable(final Board board, final Alliance alliance, final int kingSquare,
+                                           final int rookSquare) {
+        final Piece king = board.getPiece(kingSquare);
+        final Piece rook = board.getPiece(rookSquare);
+        return king != null && king.getPieceType() == PieceType.KING && king.getPieceAlliance() == alliance &&
+                king.isFirstMove() && !((King) king).isCastled() &&
+                rook != null && rook.getPieceType() == PieceType.ROOK && rook.getPieceAlliance() == alliance &&
+                rook.isFirstMove();
+    }
+
+    /** Initializes the castling rights that survive a move from or to every tile
+     *
+     * @return the castling masks by tile coordinate
+     */
+    private static int[] initCastlingMask() {
+        final int[] mask = new int[NUM_TILES];
+        Arrays.fill(mask, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
+    }
 }
@@ -0,0 +1,164 @@
+package com.chess.model.board;
+
+import com.chess.controller.Alliance;
+import com.chess.model.board.Move.PawnEnPassantAttackMove;
+import com.chess.model.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decides which moves of an alliance are strictly legal.
+ * <p>
+ * The pieces generate their moves without looking at the own king. Instead of executing every move on a new
+ * {@link Board} to see if the king is attacked afterwards, the checking pieces and the pinned pieces are calculated
+ * once per position from the bitboards. A move is then legal when:
+ * <ul>
+ *     <li>a king move does not go to an attacked tile, a castle does not start in, pass through or end in check,</li>
+ *     <li>in double check only the king moves,</li>
+ *     <li>in single check the move captures the checker or blocks the line between checker and king,</li>
+ *     <li>a pinned piece stays on the line through the king and its pinner.</li>
+ * </ul>
+ * En passant removes two pieces from a rank, so it is checked by looking at the king with both pawns gone.
+ */
+public final class LegalMoveGenerator {
+
+    private final BitBoard bitBoard; /* the bitboards of the position */
+    private final Alliance opponent; /* the alliance that attacks the king */
+    private final int kingSquare; /* the tile of the king */
+    private final long checkers; /* the pieces giving check */
+    private final long pinned; /* the own pieces pinned to the king */
+
+    /** Constructor
+     *
+     * @param board the board
+     * @param alliance the alliance whose moves are checked
+     */
+    public LegalMoveGenerator(final Board board, final Alliance alliance) {
+        this.bitBoard = board.getBitBoard();
+        this.opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long king = this.bitBoard.getPieces(PieceType.KING, alliance);
+        if (king == BitBoard.EMPTY) {
+            throw new RuntimeException("There is no king! Not a valid board");
+        }
+        this.kingSquare = BitBoard.firstSquare(king);
+        this.checkers = this.bitBoard.attackersOf(this.kingSquare, this.opponent, this.bitBoard.getOccupancy());
+        this.pinned = calculatePinned(this.bitBoard.getOccupancy(alliance));
+    }
+
+    /** Calculates the own pieces that are the only piece between the king and an enemy sliding piece
+     *
+     * @param own the tiles of the own pieces
+     * @return the pinned pieces
+     */
+    private long calculatePinned(final long own) {
+        final long queens = this.bitBoard.getPieces(PieceType.QUEEN, this.opponent);
+        long snipers = (BitBoard.rookAttacks(this.kingSquare, BitBoard.EMPTY) &
+                (this.bitBoard.getPieces(PieceType.ROOK, this.opponent) | queens)) |
+                (BitBoard.bishopAttacks(this.kingSquare, BitBoard.EMPTY) &
+                        (this.bitBoard.getPieces(PieceType.BISHOP, this.opponent) | queens));
+        long pinnedPieces = BitBoard.EMPTY;
+        while (snipers != BitBoard.EMPTY) { /* for each enemy slider on a line with the king */
+            final long blockers = BitBoard.between(this.kingSquare, BitBoard.firstSquare(snipers)) &
+                    this.bitBoard.getOccupancy();
+            if (BitBoard.count(blockers) == 1) { /* a single blocker of either side, only an own one is pinned */
+                pinnedPieces |= blockers & own;
+            }
+            snipers &= snipers - 1;
+        }
+        return pinnedPieces;
+    }
+
+    /** Checks if the king is in check
+     *
+     * @return true if at least one enemy piece attacks the king
+     */
+    public boolean isInCheck() {
+        return this.checkers != BitBoard.EMPTY;
+    }
+
+    /** Gets the pieces giving check
+     *
+     * @return the checking pieces
+     */
+    public long getCheckers() {
+        return this.checkers;
+    }
+
+    /** Gets the own pieces pinned to the king
+     *
+     * @return the pinned pieces
+     */
+    public long getPinned() {
+        return this.pinned;
+    }
+
+    /** Checks if a generated move is strictly legal
+     *
+     * @param move a move generated for the alliance
+     * @return true if the move does not leave the king in check
+     */
+    public boolean isLegal(final Move move) {
+        final int from = move.getCurrentCoordinate();
+        final int to = move.getDestinationCoordinate();
+        final long occupancy = this.bitBoard.getOccupancy();
+        if (from == this.kingSquare) { /* the king moves */
+            if (move.isCastlingMove()) {
+                return !isInCheck() && isCastlePathSafe(from, to);
+            }
+            /* without the king on its tile, sliders see through to the tiles behind it */
+            return (this.bitBoard.attackersOf(to, this.opponent, occupancy ^ BitBoard.squareMask(from)) &
+                    ~BitBoard.squareMask(to)) == BitBoard.EMPTY;
+        }
+        if (move instanceof PawnEnPassantAttackMove) {
+            final long captured = BitBoard.squareMask(move.getAttackedPiece().getPiecePosition());
+            final long after = (occupancy ^ BitBoard.squareMask(from) ^ captured) | BitBoard.squareMask(to);
+            return (this.bitBoard.attackersOf(this.kingSquare, this.opponent, after) & ~captured) == BitBoard.EMPTY;
+        }
+        if (this.checkers != BitBoard.EMPTY) {
+            if (BitBoard.count(this.checkers) > 1) { /* double check, only the king can move */
+                return false;
+            }
+            final long evasions = this.checkers | BitBoard.between(this.kingSquare, BitBoard.firstSquare(this.checkers));
+            if (!BitBoard.isSet(evasions, to)) {
+                return false;
+            }
+        }
+        return !BitBoard.isSet(this.pinned, from) || BitBoard.isSet(BitBoard.line(this.kingSquare, from), to);
+    }
+
+    /** Checks the tiles the king crosses while castling
+     *
+     * @param from the tile of the king
+     * @param to the tile the king ends on
+     * @return true if none of the tiles after the king's own tile is attacked
+     */
+    private boolean isCastlePathSafe(final int from, final int to) {
+        final int direction = to > from ? 1 : -1;
+        for (int tile = from + direction; ; tile += direction) {
+            if (this.bitBoard.isSquareAttacked(tile, this.opponent)) {
+                return false;
+            }
+            if (tile == to) {
+                return true;
+            }
+        }
+    }
+
+    /** Generates the strictly legal moves out of the generated moves
+     *
+     * @param moves the moves generated for the alliance
+     * @return an unmodifiable list of the legal moves
+     */
+    public List<Move> generate(final Collection<Move> moves) {
+        final List<Move> legalMoves = new ArrayList<>(moves.size());
+        for (final Move move : moves) {
+            if (isLegal(move)) {
+                legalMoves.add(move);
+            }
+        }
+        return Collections.unmodifiableList(legalMoves);
+    }
+}
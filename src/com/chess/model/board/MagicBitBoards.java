@@ -0,0 +1,163 @@
+package com.chess.model.board;
+
+/**
+ * Magic bitboard attack tables of the sliding pieces.
+ * <p>
+ * Only the blockers on the relevant tiles of a slider (its rays without the edge of the board) change its
+ * attacks. Multiplying those blockers with a magic number packs them into the top bits of a long, which index a
+ * table of precomputed attack sets, so the attacks of a rook or bishop are one mask, one multiply, one shift and
+ * one lookup. The magic numbers are searched for when the class is loaded, with a fixed seed so every run builds
+ * the same tables.
+ */
+public final class MagicBitBoards {
+
+    /** The directions of a bishop as {file step, row step} */
+    private static final int[][] DIAGONALS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    /** The directions of a rook as {file step, row step} */
+    private static final int[][] LINES = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    /** The relevant blocker tiles of a rook on every tile */
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    /** The magic numbers of a rook on every tile */
+    private static final long[] ROOK_MAGICS = new long[BoardUtils.NUM_TILES];
+    /** The shifts of a rook on every tile, 64 minus the number of relevant tiles */
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+    /** The attacks of a rook on every tile, indexed by the magic index of the blockers */
+    private static final long[][] ROOK_ATTACKS = new long[BoardUtils.NUM_TILES][];
+
+    /** The relevant blocker tiles of a bishop on every tile */
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    /** The magic numbers of a bishop on every tile */
+    private static final long[] BISHOP_MAGICS = new long[BoardUtils.NUM_TILES];
+    /** The shifts of a bishop on every tile, 64 minus the number of relevant tiles */
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+    /** The attacks of a bishop on every tile, indexed by the magic index of the blockers */
+    private static final long[][] BISHOP_ATTACKS = new long[BoardUtils.NUM_TILES][];
+
+    /** The state of the random number generator used while searching for magic numbers */
+    private static long seed = 0x2545F4914F6CDD1DL;
+
+    static {
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            initTile(tile, LINES, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_ATTACKS);
+            initTile(tile, DIAGONALS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+        }
+    }
+
+    /** Not instantiable */
+    private MagicBitBoards() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    /** Gets the tiles a rook attacks, up to and including the first occupied tile of every line
+     *
+     * @param tileCoordinate the tile of the rook
+     * @param occupied the occupied tiles
+     * @return the attacked tiles
+     */
+    public static long rookAttacks(final int tileCoordinate, final long occupied) {
+        return ROOK_ATTACKS[tileCoordinate][(int) (((occupied & ROOK_MASKS[tileCoordinate]) *
+                ROOK_MAGICS[tileCoordinate]) >>> ROOK_SHIFTS[tileCoordinate])];
+    }
+
+    /** Gets the tiles a bishop attacks, up to and including the first occupied tile of every diagonal
+     *
+     * @param tileCoordinate the tile of the bishop
+     * @param occupied the occupied tiles
+     * @return the attacked tiles
+     */
+    public static long bishopAttacks(final int tileCoordinate, final long occupied) {
+        return BISHOP_ATTACKS[tileCoordinate][(int) (((occupied & BISHOP_MASKS[tileCoordinate]) *
+                BISHOP_MAGICS[tileCoordinate]) >>> BISHOP_SHIFTS[tileCoordinate])];
+    }
+
+    /** Finds the magic number of a slider on a tile and fills its attack table
+     *
+     * @param tile the tile of the slider
+     * @param directions the directions the slider moves in
+     * @param masks the relevant blocker tiles to fill in
+     * @param magics the magic numbers to fill in
+     * @param shifts the shifts to fill in
+     * @param attacks the attack tables to fill in
+     */
+    private static void initTile(final int tile, final int[][] directions, final long[] masks, final long[] magics,
+                                 final int[] shifts, final long[][] attacks) {
+        final long mask = relevantBlockers(tile, directions);
+        final int bits = BitBoard.count(mask);
+        final int size = 1 << bits;
+        final long[] blockers = new long[size];
+        final long[] reference = new long[size];
+        long subset = BitBoard.EMPTY;
+        for (int i = 0; i < size; i++) { /* every subset of the mask, carry-rippler */
+            blockers[i] = subset;
+            reference[i] = BitBoard.slidingAttacks(tile, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+        final long[] table = new long[size];
+        final int[] used = new int[size]; /* the attempt that last wrote an entry, to avoid clearing the table */
+        for (int attempt = 1; ; attempt++) {
+            final long magic = nextRandom() & nextRandom() & nextRandom(); /* magics with few bits set work best */
+            if (BitBoard.count((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            boolean collision = false;
+            for (int i = 0; i < size && !collision; i++) {
+                final int index = (int) ((blockers[i] * magic) >>> (64 - bits));
+                if (used[index] != attempt) {
+                    used[index] = attempt;
+                    table[index] = reference[i];
+                } else if (table[index] != reference[i]) { /* two blocker sets with different attacks share an index */
+                    collision = true;
+                }
+            }
+            if (!collision) {
+                masks[tile] = mask;
+                magics[tile] = magic;
+                shifts[tile] = 64 - bits;
+                attacks[tile] = table;
+                return;
+            }
+        }
+    }
+
+    /** Gets the tiles whose occupancy changes the attacks of a slider, its rays without the last tile of each ray
+     *
+     * @param tile the tile of the slider
+     * @param directions the directions the slider moves in
+     * @return the relevant blocker tiles
+     */
+    private static long relevantBlockers(final int tile, final int[][] directions) {
+        long mask = BitBoard.EMPTY;
+        for (final int[] direction : directions) {
+            int file = tile % BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int row = tile / BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(file + direction[0], row + direction[1])) { /* the tile after this one is still on the board */
+                mask |= BitBoard.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + file);
+                file += direction[0];
+                row += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /** Checks if a file and row are on the board
+     *
+     * @param file the file
+     * @param row the row
+     * @return true if both are between 0 and 7
+     */
+    private static boolean isOnBoard(final int file, final int row) {
+        return file >= 0 && file < BoardUtils.NUM_TILES_PER_ROW && row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    /** Gets the next number of a xorshift random number generator
+     *
+     * @return a random long
+     */
+    private static long nextRandom() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 0x2545F4914F6CDD1DL;
+    }
+}
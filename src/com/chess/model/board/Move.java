@@ -149,10 +149,33 @@ public abstract class Move {
         }
         builder.setPiece(this.movedPiece.movePiece(this)); /* move the piece */
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance()); /* set the move maker to the opponent */
+        builder.setZobristKey(calculateZobristKey()); /* update the key instead of calculating it again */
 
         return builder.build(); /* build the board */
     }
 
+    /** Calculates the Zobrist key of the board after the move from the key of the board before it
+     * <p>
+     * Only what the move changes is taken out of and put into the key: the moved piece, the captured piece, the en
+     * passant file and the side to move. The castling rights of the board before are taken out, the board after the
+     * move puts its own in, see {@link Builder#setZobristKey(long)}.
+     *
+     * @return the key of the board after the move, without castling rights
+     */
+    long calculateZobristKey() {
+        long key = this.board.getZobristKey() ^ Zobrist.castling(this.board.getCastlingRights());
+        key ^= Zobrist.sideToMove(); /* the other side moves next */
+        key ^= Zobrist.piece(this.movedPiece); /* the piece leaves its tile */
+        key ^= Zobrist.piece(this.movedPiece.getPieceType(), this.movedPiece.getPieceAlliance(), this.destinationCoordinate);
+        if (getAttackedPiece() != null) { /* the captured piece leaves the board */
+            key ^= Zobrist.piece(getAttackedPiece());
+        }
+        if (this.board.getEnPassantPawn() != null) { /* the en passant chance is gone */
+            key ^= Zobrist.enPassant(this.board.getEnPassantPawn().getPiecePosition());
+        }
+        return key;
+    }
+
     /** Gets the current Coordinate of a piece
      *
      * @return the current coordinate of a piece
@@ -373,6 +396,10 @@ public abstract class Move {
             builder.setPiece(queen.movePiece(this));
             /* Set the move maker */
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            /* Set the key of the board with the promoted piece */
+            builder.setZobristKey(pawnMovedBoard.getZobristKey() ^ Zobrist.castling(pawnMovedBoard.getCastlingRights()) ^ Zobrist.piece(this.promotedPawn.getPieceType(),
+                    this.promotedPawn.getPieceAlliance(), this.destinationCoordinate) ^ Zobrist.piece(queen.getPieceType(),
+                    queen.getPieceAlliance(), this.destinationCoordinate));
             /* Return the new board */
             return builder.build();
         }
@@ -468,6 +495,7 @@ public abstract class Move {
             this.board.currentPlayer().getOpponent().getActivePieces().stream().filter(piece -> !piece.equals(this.getAttackedPiece())).forEach(builder::setPiece); // Add all the opponent's pieces to the builder except the attacked piece
             builder.setPiece(this.movedPiece.movePiece(this)); // Move the piece
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance()); // Set the move maker to the opponent
+            builder.setZobristKey(calculateZobristKey()); // Update the key
             return builder.build(); // Build the board
         }
     }
@@ -501,9 +529,15 @@ public abstract class Move {
             builder.setEnPassantPawn(movedPawn); /* set the en passant pawn */
             builder.setPiece(movedPawn); /* add the moved piece to the board */ /* only difference */
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance()); /* set the move maker to the opponent */
+            builder.setZobristKey(calculateZobristKey()); /* update the key */
             return builder.build(); /* build the board */
         }
 
+        @Override
+        long calculateZobristKey() {
+            return super.calculateZobristKey() ^ Zobrist.enPassant(this.destinationCoordinate); /* the pawn can be taken en passant */
+        }
+
         @Override
         public String toString() {
             return BoardUtils.getPositionAtCoordinate(this.destinationCoordinate); // Return the destination coordinate
@@ -560,9 +594,16 @@ public abstract class Move {
             builder.setPiece(king.movePiece(this, true)); /* move the piece */
             builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance())); /* move the rook */
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance()); /* set the move maker to the opponent */
+            builder.setZobristKey(calculateZobristKey()); /* update the key */
             return builder.build(); /* build the board */
         }
 
+        @Override
+        long calculateZobristKey() {
+            return super.calculateZobristKey() ^ Zobrist.piece(this.castleRook) ^
+                    Zobrist.piece(this.castleRook.getPieceType(), this.castleRook.getPieceAlliance(), this.castleRookDestination);
+        }
+
         @Override
         public int hashCode() {
             final int prime = 31;
@@ -702,6 +743,50 @@ public abstract class Move {
             }
             return NULL_MOVE;
         }
+
+        /** Create the move object of an encoded move, for the GUI, the PGN output and move transitions
+         * <p>
+         * A board only promotes to queens, so every promotion maps to the queen promotion of its tiles.
+         *
+         * @param board the board the move is made on
+         * @param move the encoded move, see {@link MoveEncoding}
+         * @return the move, or the null move if the board has no such move
+         */
+        public static Move createMove(final Board board, final int move) {
+            if (move == MoveEncoding.NO_MOVE) {
+                return NULL_MOVE;
+            }
+            return createMove(board, MoveEncoding.getFrom(move), MoveEncoding.getTo(move));
+        }
+
+        /** Encode a move into an int
+         *
+         * @param move the move
+         * @return the encoded move, see {@link MoveEncoding}
+         */
+        public static int encode(final Move move) {
+            if (move == NULL_MOVE || move.getMovedPiece() == null) {
+                return MoveEncoding.NO_MOVE;
+            }
+            final int from = move.getCurrentCoordinate();
+            final int to = move.getDestinationCoordinate();
+            final int movedType = move.getMovedPiece().getPieceType().ordinal();
+            final int capturedType = move.getAttackedPiece() != null ?
+                    move.getAttackedPiece().getPieceType().ordinal() : MoveEncoding.NO_PIECE;
+            final int flag;
+            if (move instanceof CastleMove) { /* castles */
+                flag = move instanceof KingSideCastleMove ? MoveEncoding.KING_CASTLE : MoveEncoding.QUEEN_CASTLE;
+            } else if (move instanceof PawnPromotion) { /* promotions, a board only promotes to queens */
+                flag = MoveEncoding.PROMOTION | (move.isAttack() ? MoveEncoding.CAPTURE : 0) | 3;
+            } else if (move instanceof PawnEnPassantAttackMove) { /* en passant */
+                flag = MoveEncoding.EN_PASSANT;
+            } else if (move instanceof PawnJump) { /* pawn jumps */
+                flag = MoveEncoding.DOUBLE_PAWN_PUSH;
+            } else {
+                flag = move.isAttack() ? MoveEncoding.CAPTURE : MoveEncoding.QUIET;
+            }
+            return MoveEncoding.create(from, to, flag, movedType, capturedType);
+        }
     }
 
 }
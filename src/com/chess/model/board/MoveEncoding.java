@@ -0,0 +1,174 @@
+package com.chess.model.board;
+
+import com.chess.model.pieces.PieceType;
+
+/**
+ * Moves of the search encoded into a single int.
+ * <p>
+ * A {@link Move} object holds its board, its piece and the attacked piece, which is a lot to allocate for every
+ * move the search looks at. The search uses plain ints instead, laid out as:
+ * <pre>
+ *  bits  0 -  5 : the tile the piece moves from
+ *  bits  6 - 11 : the tile the piece moves to
+ *  bits 12 - 15 : the move flag
+ *  bits 16 - 18 : the piece type ordinal of the moved piece
+ *  bits 19 - 21 : the piece type ordinal of the captured piece plus one, 0 if nothing is captured
+ * </pre>
+ * Two encoded moves are equal exactly when they are the same move of the same position, so they can be kept in
+ * killer, history and transposition tables as they are. {@link Move.MoveFactory} converts between both forms.
+ */
+public final class MoveEncoding {
+
+    /** The value of no move, no legal move starts and ends on tile 0 */
+    public static final int NO_MOVE = 0;
+
+    /** Move flag of a quiet move */
+    public static final int QUIET = 0;
+    /** Move flag of a pawn moving two tiles */
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    /** Move flag of a king side castle */
+    public static final int KING_CASTLE = 2;
+    /** Move flag of a queen side castle */
+    public static final int QUEEN_CASTLE = 3;
+    /** Move flag of a capture */
+    public static final int CAPTURE = 4;
+    /** Move flag of an en passant capture */
+    public static final int EN_PASSANT = 5;
+    /** Move flag of a promotion, the two lowest bits are the promotion piece (knight, bishop, rook, queen) */
+    public static final int PROMOTION = 8;
+
+    /** The value of the captured piece field when nothing is captured */
+    public static final int NO_PIECE = -1;
+
+    /** The piece types by ordinal */
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    /** Not instantiable */
+    private MoveEncoding() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    /** Creates a move
+     *
+     * @param from the tile the piece moves from
+     * @param to the tile the piece moves to
+     * @param flag the move flag
+     * @param movedType the piece type ordinal of the moved piece
+     * @param capturedType the piece type ordinal of the captured piece, or {@link #NO_PIECE}
+     * @return the move
+     */
+    public static int create(final int from, final int to, final int flag, final int movedType, final int capturedType) {
+        return from | (to << 6) | (flag << 12) | (movedType << 16) | ((capturedType + 1) << 19);
+    }
+
+    /** Gets the tile a move starts on
+     *
+     * @param move the move
+     * @return the tile the piece moves from
+     */
+    public static int getFrom(final int move) {
+        return move & 63;
+    }
+
+    /** Gets the tile a move ends on
+     *
+     * @param move the move
+     * @return the tile the piece moves to
+     */
+    public static int getTo(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /** Gets the flag of a move
+     *
+     * @param move the move
+     * @return the move flag
+     */
+    public static int getFlag(final int move) {
+        return (move >>> 12) & 15;
+    }
+
+    /** Gets the type of the moved piece
+     *
+     * @param move the move
+     * @return the piece type ordinal of the moved piece
+     */
+    public static int getMovedType(final int move) {
+        return (move >>> 16) & 7;
+    }
+
+    /** Gets the type of the captured piece
+     *
+     * @param move the move
+     * @return the piece type ordinal of the captured piece, or {@link #NO_PIECE}
+     */
+    public static int getCapturedType(final int move) {
+        return ((move >>> 19) & 7) - 1;
+    }
+
+    /** Checks if a move captures a piece
+     *
+     * @param move the move
+     * @return true for captures, en passant and capturing promotions
+     */
+    public static boolean isCapture(final int move) {
+        return (getFlag(move) & CAPTURE) != 0;
+    }
+
+    /** Checks if a move promotes a pawn
+     *
+     * @param move the move
+     * @return true for promotions
+     */
+    public static boolean isPromotion(final int move) {
+        return (getFlag(move) & PROMOTION) != 0;
+    }
+
+    /** Checks if a move castles
+     *
+     * @param move the move
+     * @return true for castles
+     */
+    public static boolean isCastle(final int move) {
+        final int flag = getFlag(move);
+        return flag == KING_CASTLE || flag == QUEEN_CASTLE;
+    }
+
+    /** Gets the piece type a pawn promotes to
+     *
+     * @param move the move, must be a promotion
+     * @return the piece type
+     */
+    public static PieceType getPromotionType(final int move) {
+        return PIECE_TYPES[PieceType.KNIGHT.ordinal() + (getFlag(move) & 3)];
+    }
+
+    /** Gets the value of the moved piece
+     *
+     * @param move the move
+     * @return the value of the moved piece
+     */
+    public static int getMovedValue(final int move) {
+        return PIECE_TYPES[getMovedType(move)].getPieceValue();
+    }
+
+    /** Gets the value of the captured piece
+     *
+     * @param move the move
+     * @return the value of the captured piece, 0 if nothing is captured
+     */
+    public static int getCapturedValue(final int move) {
+        final int capturedType = getCapturedType(move);
+        return capturedType == NO_PIECE ? 0 : PIECE_TYPES[capturedType].getPieceValue();
+    }
+
+    /** Writes a move in coordinate notation, like e2e4 or e7e8q
+     *
+     * @param move the move
+     * @return the move as a string
+     */
+    public static String toString(final int move) {
+        final String text = BoardUtils.getPositionAtCoordinate(getFrom(move)) + BoardUtils.getPositionAtCoordinate(getTo(move));
+        return isPromotion(move) ? text + getPromotionType(move).toString().toLowerCase() : text;
+    }
+}
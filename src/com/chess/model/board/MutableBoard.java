@@ -0,0 +1,939 @@
+package com.chess.model.board;
+
+import com.chess.controller.Alliance;
+import com.chess.model.pieces.Piece;
+import com.chess.model.pieces.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.model.board.MoveEncoding.*;
+
+/**
+ * A position that is changed in place by the search.
+ * <p>
+ * A {@link Board} is immutable, executing a move copies every piece into a new board and generates the legal moves
+ * of both players. The search only needs to visit a position and come back, so this board applies a move to its
+ * bitboards and mailbox and pushes what it needs to revert it on an undo stack. Moves are plain ints
+ * (see {@link MoveEncoding}), {@link Move} objects are only used at the root of a search.
+ * <p>
+ * Unlike {@link Board} the rules are the real ones: castling rights are lost as soon as the king or rook moves,
+ * a king may not castle out of, through or into check, and pawns promote to any piece.
+ */
+public final class MutableBoard {
+
+    /** The value of an empty square in the mailbox */
+    public static final int EMPTY_SQUARE = -1;
+    /** The maximum number of pseudo legal moves in a position */
+    public static final int MAX_MOVES = 256;
+    /** The maximum number of moves that can be made on the board */
+    public static final int MAX_PLY = 512;
+
+    /** The piece types by ordinal */
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    /** The piece values by piece type ordinal */
+    private static final int[] PIECE_VALUES = initPieceValues();
+
+    /** The bitboards of every piece, indexed by {@link BitBoard#index(PieceType, Alliance)} */
+    private final long[] pieceBoards;
+    /** The tiles occupied by each alliance */
+    private final long[] allianceOccupancy;
+    /** The pieces by tile coordinate, see {@link #getPiece(int)} */
+    private final int[] mailbox;
+    /** The tiles occupied by any piece */
+    private long occupancy;
+    /** The alliance ordinal of the side to move */
+    private int sideToMove;
+    /** The castling rights */
+    private int castlingRights;
+    /** One bit per alliance ordinal, set while the king stands where it castled to */
+    private int castled;
+    /** The tile a pawn passed over in the last move, or -1 */
+    private int enPassantSquare;
+    /** The number of moves made */
+    private int ply;
+    /** The Zobrist key of the position, see {@link Zobrist} */
+    private long zobristKey;
+
+    /** The moves tried by {@link #hasLegalMoves()} */
+    private final int[] legalMoveBuffer;
+    /** The gains of every capture of {@link #staticExchange(int)}, one per piece that can take part */
+    private final int[] exchangeGains;
+
+    /** The undo stack: the move made */
+    private final int[] undoMove;
+    /** The undo stack: the piece captured by the move */
+    private final int[] undoCaptured;
+    /** The undo stack: the castling rights before the move */
+    private final int[] undoCastlingRights;
+    /** The undo stack: the castled flags before the move */
+    private final int[] undoCastled;
+    /** The undo stack: the en passant tile before the move */
+    private final int[] undoEnPassantSquare;
+    /** The undo stack: the Zobrist key before the move */
+    private final long[] undoZobristKey;
+
+    /** Constructor
+     *
+     * @param board the board to copy
+     */
+    public MutableBoard(final Board board) {
+        this.pieceBoards = new long[2 * BitBoard.NUM_PIECE_TYPES];
+        this.allianceOccupancy = new long[2];
+        this.mailbox = new int[BoardUtils.NUM_TILES];
+        this.undoMove = new int[MAX_PLY];
+        this.undoCaptured = new int[MAX_PLY];
+        this.undoCastlingRights = new int[MAX_PLY];
+        this.undoCastled = new int[MAX_PLY];
+        this.undoEnPassantSquare = new int[MAX_PLY];
+        this.undoZobristKey = new long[MAX_PLY];
+        this.legalMoveBuffer = new int[MAX_MOVES];
+        this.exchangeGains = new int[BoardUtils.NUM_TILES / 2 + 1];
+        Arrays.fill(this.mailbox, EMPTY_SQUARE);
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) { /* copy the pieces */
+            final Piece piece = board.getPiece(i);
+            if (piece != null) {
+                putPiece(BitBoard.index(piece.getPieceType(), piece.getPieceAlliance()), i);
+            }
+        }
+        this.sideToMove = board.currentPlayer().getAlliance().ordinal();
+        this.castlingRights = board.getCastlingRights();
+        this.castled = (isKingCastled(board, Alliance.WHITE) ? 1 : 0) | (isKingCastled(board, Alliance.BLACK) ? 2 : 0);
+        final Piece enPassantPawn = board.getEnPassantPawn();
+        this.enPassantSquare = enPassantPawn == null ? -1 :
+                enPassantPawn.getPiecePosition() - enPassantPawn.getPieceAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        this.ply = 0;
+        this.zobristKey ^= Zobrist.sideToMove(getSideToMove()) ^ Zobrist.castling(this.castlingRights) ^
+                (this.enPassantSquare == -1 ? 0L : Zobrist.enPassant(this.enPassantSquare)); /* the pieces are in already */
+    }
+
+    /** Copy constructor, the copy has the same position and the same moves to take back
+     *
+     * @param other the board to copy
+     */
+    public MutableBoard(final MutableBoard other) {
+        this.pieceBoards = other.pieceBoards.clone();
+        this.allianceOccupancy = other.allianceOccupancy.clone();
+        this.mailbox = other.mailbox.clone();
+        this.undoMove = other.undoMove.clone();
+        this.undoCaptured = other.undoCaptured.clone();
+        this.undoCastlingRights = other.undoCastlingRights.clone();
+        this.undoCastled = other.undoCastled.clone();
+        this.undoEnPassantSquare = other.undoEnPassantSquare.clone();
+        this.undoZobristKey = other.undoZobristKey.clone();
+        this.legalMoveBuffer = new int[MAX_MOVES];
+        this.exchangeGains = new int[BoardUtils.NUM_TILES / 2 + 1];
+        this.occupancy = other.occupancy;
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.castled = other.castled;
+        this.enPassantSquare = other.enPassantSquare;
+        this.ply = other.ply;
+        this.zobristKey = other.zobristKey;
+    }
+
+    /** Encodes a move of this position, the moved and captured piece types are taken from the mailbox
+     *
+     * @param from the tile the piece moves from
+     * @param to the tile the piece moves to
+     * @param flag the move flag
+     * @return the encoded move
+     */
+    private int encode(final int from, final int to, final int flag) {
+        final int captured;
+        if (flag == EN_PASSANT) {
+            captured = PieceType.PAWN.ordinal();
+        } else {
+            captured = this.mailbox[to] == EMPTY_SQUARE ? NO_PIECE : this.mailbox[to] % BitBoard.NUM_PIECE_TYPES;
+        }
+        return MoveEncoding.create(from, to, flag, this.mailbox[from] % BitBoard.NUM_PIECE_TYPES, captured);
+    }
+
+    /** Gets the alliance to move
+     *
+     * @return the alliance to move
+     */
+    public Alliance getSideToMove() {
+        return Alliance.values()[this.sideToMove];
+    }
+
+    /** Gets the piece on a tile
+     *
+     * @param tileCoordinate the tile coordinate
+     * @return the index of the piece as in {@link BitBoard#index(PieceType, Alliance)}, or {@link #EMPTY_SQUARE}
+     */
+    public int getPiece(final int tileCoordinate) {
+        return this.mailbox[tileCoordinate];
+    }
+
+    /** Gets the type of a piece
+     *
+     * @param piece the piece as returned by {@link #getPiece(int)}
+     * @return the piece type
+     */
+    public static PieceType getPieceType(final int piece) {
+        return PIECE_TYPES[piece % BitBoard.NUM_PIECE_TYPES];
+    }
+
+    /** Gets the value of a piece
+     *
+     * @param piece the piece as returned by {@link #getPiece(int)}
+     * @return the piece value
+     */
+    public static int getPieceValue(final int piece) {
+        return PIECE_VALUES[piece % BitBoard.NUM_PIECE_TYPES];
+    }
+
+    /** Gets the bitboard of a piece type of an alliance
+     *
+     * @param pieceType the piece type
+     * @param alliance the alliance
+     * @return the bitboard
+     */
+    public long getPieces(final PieceType pieceType, final Alliance alliance) {
+        return this.pieceBoards[BitBoard.index(pieceType, alliance)];
+    }
+
+    /** Gets the tiles occupied by an alliance
+     *
+     * @param alliance the alliance
+     * @return the occupancy of the alliance
+     */
+    public long getOccupancy(final Alliance alliance) {
+        return this.allianceOccupancy[alliance.ordinal()];
+    }
+
+    /** Gets the tiles occupied by any piece
+     *
+     * @return the occupancy of the board
+     */
+    public long getOccupancy() {
+        return this.occupancy;
+    }
+
+    /** Gets the tile a pawn passed over in the last move
+     *
+     * @return the en passant tile, or -1
+     */
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    /** Checks if the king of an alliance has castled and not moved since
+     *
+     * @param alliance the alliance
+     * @return true if the king is castled
+     */
+    public boolean isCastled(final Alliance alliance) {
+        return (this.castled & (1 << alliance.ordinal())) != 0;
+    }
+
+    /** Gets the castling rights
+     *
+     * @return the castling rights, see {@link BoardUtils#calculateCastlingRights(Board)}
+     */
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /** Gets the Zobrist key of the position
+     *
+     * @return the key, equal to the key of a {@link Board} of the same position and castling rights
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /** Gets the number of moves made on this board
+     *
+     * @return the number of moves made since the board was created
+     */
+    public int getPly() {
+        return this.ply;
+    }
+
+    /** Gets a move made on this board
+     *
+     * @param pliesAgo 0 for the last move, 1 for the one before...
+     * @return the move, or {@link MoveEncoding#NO_MOVE} if it was made before this board was created
+     */
+    public int getLastMove(final int pliesAgo) {
+        return pliesAgo < this.ply ? this.undoMove[this.ply - 1 - pliesAgo] : NO_MOVE;
+    }
+
+    /** Gets the piece a move made on this board captured
+     *
+     * @param pliesAgo 0 for the last move, 1 for the one before...
+     * @return the captured piece, or {@link #EMPTY_SQUARE}
+     */
+    public int getLastCaptured(final int pliesAgo) {
+        return pliesAgo < this.ply ? this.undoCaptured[this.ply - 1 - pliesAgo] : EMPTY_SQUARE;
+    }
+
+    /** Gets the tile of the king of an alliance
+     *
+     * @param alliance the alliance ordinal
+     * @return the tile of the king
+     */
+    private int kingSquare(final int alliance) {
+        return BitBoard.firstSquare(this.pieceBoards[alliance * BitBoard.NUM_PIECE_TYPES + PieceType.KING.ordinal()]);
+    }
+
+    /** Checks if the side to move is in check
+     *
+     * @return true if the king of the side to move is attacked
+     */
+    public boolean isInCheck() {
+        return isInCheck(this.sideToMove);
+    }
+
+    /** Checks if an alliance is in check
+     *
+     * @param alliance the alliance
+     * @return true if the king of the alliance is attacked
+     */
+    public boolean isInCheck(final Alliance alliance) {
+        return isInCheck(alliance.ordinal());
+    }
+
+    /** Checks if an alliance is in check
+     *
+     * @param alliance the alliance ordinal
+     * @return true if the king of the alliance is attacked
+     */
+    private boolean isInCheck(final int alliance) {
+        return isSquareAttacked(kingSquare(alliance), alliance ^ 1);
+    }
+
+    /** Checks if a tile is attacked by an alliance
+     *
+     * @param tileCoordinate the tile coordinate
+     * @param alliance the attacking alliance
+     * @return true if a piece of the alliance attacks the tile
+     */
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance alliance) {
+        return isSquareAttacked(tileCoordinate, alliance.ordinal());
+    }
+
+    /** Checks if a tile is attacked by an alliance
+     *
+     * @param tileCoordinate the tile coordinate
+     * @param alliance the attacking alliance ordinal
+     * @return true if a piece of the alliance attacks the tile
+     */
+    private boolean isSquareAttacked(final int tileCoordinate, final int alliance) {
+        final int base = alliance * BitBoard.NUM_PIECE_TYPES;
+        final long queens = this.pieceBoards[base + PieceType.QUEEN.ordinal()];
+        return (BitBoard.pawnAttacks(tileCoordinate, alliance ^ 1) & this.pieceBoards[base + PieceType.PAWN.ordinal()]) != 0 ||
+                (BitBoard.knightAttacks(tileCoordinate) & this.pieceBoards[base + PieceType.KNIGHT.ordinal()]) != 0 ||
+                (BitBoard.kingAttacks(tileCoordinate) & this.pieceBoards[base + PieceType.KING.ordinal()]) != 0 ||
+                (BitBoard.bishopAttacks(tileCoordinate, this.occupancy) &
+                        (this.pieceBoards[base + PieceType.BISHOP.ordinal()] | queens)) != 0 ||
+                (BitBoard.rookAttacks(tileCoordinate, this.occupancy) &
+                        (this.pieceBoards[base + PieceType.ROOK.ordinal()] | queens)) != 0;
+    }
+
+    /** Gets the tiles attacked by the piece on a tile
+     *
+     * @param tileCoordinate the tile coordinate, must be occupied
+     * @return the attacked tiles, for pawns only the capture tiles
+     */
+    public long attacksFrom(final int tileCoordinate) {
+        final int piece = this.mailbox[tileCoordinate];
+        return attacks(piece % BitBoard.NUM_PIECE_TYPES, piece / BitBoard.NUM_PIECE_TYPES, tileCoordinate);
+    }
+
+    /** Gets the static exchange evaluation of a move: the material the side to move wins when both sides keep
+     * capturing on the target tile with their least valuable attacker, each side free to stop when going on loses.
+     * Sliders behind a capturing piece join the exchange as soon as it leaves its tile. Pins are ignored.
+     *
+     * @param move a move of this position
+     * @return the material won by the exchange, negative if the move loses material
+     */
+    public int staticExchange(final int move) {
+        final int from = getFrom(move);
+        final int to = getTo(move);
+        final int[] gain = this.exchangeGains;
+        long occupied = this.occupancy ^ BitBoard.squareMask(from);
+        int attackerValue = getMovedValue(move);
+        gain[0] = isCapture(move) ? getCapturedValue(move) : 0;
+        if (getFlag(move) == EN_PASSANT) {   /* the captured pawn is beside the target tile */
+            occupied ^= BitBoard.squareMask(from - from % BoardUtils.NUM_TILES_PER_ROW + to % BoardUtils.NUM_TILES_PER_ROW);
+        }
+        if (isPromotion(move)) {
+            attackerValue = getPromotionType(move).getPieceValue();
+            gain[0] += attackerValue - PieceType.PAWN.getPieceValue();
+        }
+        final long diagonals = this.pieceBoards[BitBoard.index(PieceType.BISHOP, Alliance.WHITE)] |
+                this.pieceBoards[BitBoard.index(PieceType.BISHOP, Alliance.BLACK)] |
+                this.pieceBoards[BitBoard.index(PieceType.QUEEN, Alliance.WHITE)] |
+                this.pieceBoards[BitBoard.index(PieceType.QUEEN, Alliance.BLACK)];
+        final long straights = this.pieceBoards[BitBoard.index(PieceType.ROOK, Alliance.WHITE)] |
+                this.pieceBoards[BitBoard.index(PieceType.ROOK, Alliance.BLACK)] |
+                this.pieceBoards[BitBoard.index(PieceType.QUEEN, Alliance.WHITE)] |
+                this.pieceBoards[BitBoard.index(PieceType.QUEEN, Alliance.BLACK)];
+        long attackers = attackersTo(to, occupied) & occupied;
+        int side = this.sideToMove ^ 1;
+        int depth = 0;
+        while (true) {
+            final long sideAttackers = attackers & this.allianceOccupancy[side];
+            if (sideAttackers == 0) {
+                break;
+            }
+            final int base = side * BitBoard.NUM_PIECE_TYPES;
+            int pieceType = 0;
+            while ((sideAttackers & this.pieceBoards[base + pieceType]) == 0) { /* the least valuable attacker */
+                pieceType++;
+            }
+            if (pieceType == PieceType.KING.ordinal() && (attackers & this.allianceOccupancy[side ^ 1]) != 0) {
+                break;                      /* the king may not capture a defended piece */
+            }
+            depth++;
+            gain[depth] = attackerValue - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                break;                      /* neither side wants to go on */
+            }
+            attackerValue = PIECE_VALUES[pieceType];
+            occupied ^= Long.lowestOneBit(sideAttackers & this.pieceBoards[base + pieceType]);
+            attackers = (attackers | BitBoard.bishopAttacks(to, occupied) & diagonals |
+                    BitBoard.rookAttacks(to, occupied) & straights) & occupied;    /* the x-rays */
+            side ^= 1;
+        }
+        while (depth > 0) {
+            depth--;
+            gain[depth] = -Math.max(-gain[depth], gain[depth + 1]);
+        }
+        return gain[0];
+    }
+
+    /** Gets the pieces of both alliances that attack a tile
+     *
+     * @param tileCoordinate the tile coordinate
+     * @param occupied the occupied tiles the sliders are blocked by
+     * @return the attacking pieces
+     */
+    private long attackersTo(final int tileCoordinate, final long occupied) {
+        final long bishops = this.pieceBoards[BitBoard.index(PieceType.BISHOP, Alliance.WHITE)] |
+                this.pieceBoards[BitBoard.index(PieceType.BISHOP, Alliance.BLACK)];
+        final long rooks = this.pieceBoards[BitBoard.index(PieceType.ROOK, Alliance.WHITE)] |
+                this.pieceBoards[BitBoard.index(PieceType.ROOK, Alliance.BLACK)];
+        final long queens = this.pieceBoards[BitBoard.index(PieceType.QUEEN, Alliance.WHITE)] |
+                this.pieceBoards[BitBoard.index(PieceType.QUEEN, Alliance.BLACK)];
+        return BitBoard.pawnAttacks(tileCoordinate, Alliance.BLACK.ordinal()) &
+                        this.pieceBoards[BitBoard.index(PieceType.PAWN, Alliance.WHITE)] |
+                BitBoard.pawnAttacks(tileCoordinate, Alliance.WHITE.ordinal()) &
+                        this.pieceBoards[BitBoard.index(PieceType.PAWN, Alliance.BLACK)] |
+                BitBoard.knightAttacks(tileCoordinate) & (this.pieceBoards[BitBoard.index(PieceType.KNIGHT, Alliance.WHITE)] |
+                        this.pieceBoards[BitBoard.index(PieceType.KNIGHT, Alliance.BLACK)]) |
+                BitBoard.kingAttacks(tileCoordinate) & (this.pieceBoards[BitBoard.index(PieceType.KING, Alliance.WHITE)] |
+                        this.pieceBoards[BitBoard.index(PieceType.KING, Alliance.BLACK)]) |
+                BitBoard.bishopAttacks(tileCoordinate, occupied) & (bishops | queens) |
+                BitBoard.rookAttacks(tileCoordinate, occupied) & (rooks | queens);
+    }
+
+    /** Gets the tiles attacked by a piece
+     *
+     * @param pieceType the piece type ordinal
+     * @param alliance the alliance ordinal
+     * @param tileCoordinate the tile coordinate of the piece
+     * @return the attacked tiles
+     */
+    private long attacks(final int pieceType, final int alliance, final int tileCoordinate) {
+        switch (PIECE_TYPES[pieceType]) {
+            case PAWN:
+                return BitBoard.pawnAttacks(tileCoordinate, alliance);
+            case KNIGHT:
+                return BitBoard.knightAttacks(tileCoordinate);
+            case BISHOP:
+                return BitBoard.bishopAttacks(tileCoordinate, this.occupancy);
+            case ROOK:
+                return BitBoard.rookAttacks(tileCoordinate, this.occupancy);
+            case QUEEN:
+                return BitBoard.bishopAttacks(tileCoordinate, this.occupancy) |
+                        BitBoard.rookAttacks(tileCoordinate, this.occupancy);
+            default:
+                return BitBoard.kingAttacks(tileCoordinate);
+        }
+    }
+
+    /** Generates the pseudo legal moves of the side to move
+     *
+     * @param moves the array to write the moves to
+     * @param start the index of the first move
+     * @return the index after the last move
+     */
+    public int generateMoves(final int[] moves, final int start) {
+        return generateMoves(moves, start, true, true);
+    }
+
+    /** Generates the pseudo legal captures and promotions of the side to move
+     *
+     * @param moves the array to write the moves to
+     * @param start the index of the first move
+     * @return the index after the last move
+     */
+    public int generateCaptures(final int[] moves, final int start) {
+        return generateMoves(moves, start, true, false);
+    }
+
+    /** Generates the pseudo legal moves of the side to move that neither capture nor promote
+     *
+     * @param moves the array to write the moves to
+     * @param start the index of the first move
+     * @return the index after the last move
+     */
+    public int generateQuiets(final int[] moves, final int start) {
+        return generateMoves(moves, start, false, true);
+    }
+
+    /** Checks if a move that was not generated, such as a transposition table move or a killer, is a pseudo legal
+     * move of this position, without generating the moves
+     *
+     * @param move the move
+     * @return true if {@link #generateMoves(int[], int)} would generate the move
+     */
+    public boolean isPseudoLegal(final int move) {
+        final int from = getFrom(move);
+        final int to = getTo(move);
+        final int flag = getFlag(move);
+        final int us = this.sideToMove;
+        final int piece = this.mailbox[from];
+        if (move == NO_MOVE || piece == EMPTY_SQUARE || piece / BitBoard.NUM_PIECE_TYPES != us ||
+                move != encode(from, to, flag)) {  /* the moved and captured pieces are not there */
+            return false;
+        }
+        final int pieceType = piece % BitBoard.NUM_PIECE_TYPES;
+        if (flag == KING_CASTLE || flag == QUEEN_CASTLE) {
+            return pieceType == PieceType.KING.ordinal() && from == (us == Alliance.WHITE.ordinal() ? 60 : 4) &&
+                    to == from + (flag == KING_CASTLE ? 2 : -2) && canCastle(us, flag == KING_CASTLE);
+        }
+        if (flag == EN_PASSANT) {
+            return pieceType == PieceType.PAWN.ordinal() && to == this.enPassantSquare &&
+                    BitBoard.isSet(BitBoard.pawnAttacks(from, us), to);
+        }
+        final boolean capture = (flag & CAPTURE) != 0;
+        if (capture != BitBoard.isSet(this.allianceOccupancy[us ^ 1], to) ||
+                (!capture && BitBoard.isSet(this.occupancy, to))) {
+            return false;
+        }
+        if (pieceType != PieceType.PAWN.ordinal()) {
+            return (flag == QUIET || flag == CAPTURE) && BitBoard.isSet(attacks(pieceType, us, from), to);
+        }
+        final int forward = us == Alliance.WHITE.ordinal() ? -BoardUtils.NUM_TILES_PER_ROW : BoardUtils.NUM_TILES_PER_ROW;
+        final long promotionRow = us == Alliance.WHITE.ordinal() ? BitBoard.ROWS[0] : BitBoard.ROWS[7];
+        if (BitBoard.isSet(promotionRow, to) != ((flag & PROMOTION) != 0) ||
+                ((flag & PROMOTION) == 0 && flag != QUIET && flag != CAPTURE && flag != DOUBLE_PAWN_PUSH)) {
+            return false;
+        }
+        if (capture) {
+            return BitBoard.isSet(BitBoard.pawnAttacks(from, us), to);
+        }
+        if (flag == DOUBLE_PAWN_PUSH) {
+            final long startRow = us == Alliance.WHITE.ordinal() ? BitBoard.ROWS[6] : BitBoard.ROWS[1];
+            return BitBoard.isSet(startRow, from) && to == from + 2 * forward &&
+                    !BitBoard.isSet(this.occupancy, from + forward);
+        }
+        return to == from + forward;
+    }
+
+    /** Generates the pseudo legal moves of the side to move
+     *
+     * @param moves the array to write the moves to
+     * @param start the index of the first move
+     * @param tactical whether to generate the captures and promotions
+     * @param quiet whether to generate the other moves
+     * @return the index after the last move
+     */
+    private int generateMoves(final int[] moves, final int start, final boolean tactical, final boolean quiet) {
+        final int us = this.sideToMove;
+        final long enemy = this.allianceOccupancy[us ^ 1];
+        final long targetMask = (tactical ? enemy : BitBoard.EMPTY) | (quiet ? ~this.occupancy : BitBoard.EMPTY);
+        int count = generatePawnMoves(moves, start, tactical, quiet);
+        for (int pieceType = PieceType.KNIGHT.ordinal(); pieceType <= PieceType.KING.ordinal(); pieceType++) {
+            long pieces = this.pieceBoards[us * BitBoard.NUM_PIECE_TYPES + pieceType];
+            while (pieces != BitBoard.EMPTY) { /* for each piece of the type */
+                final int from = BitBoard.firstSquare(pieces);
+                long targets = attacks(pieceType, us, from) & targetMask;
+                while (targets != BitBoard.EMPTY) { /* for each tile the piece can move to */
+                    final int to = BitBoard.firstSquare(targets);
+                    moves[count++] = encode(from, to, BitBoard.isSet(enemy, to) ? CAPTURE : QUIET);
+                    targets &= targets - 1;
+                }
+                pieces &= pieces - 1;
+            }
+        }
+        return quiet ? generateCastles(moves, count) : count;
+    }
+
+    /** Generates the pseudo legal pawn moves of the side to move
+     *
+     * @param moves the array to write the moves to
+     * @param start the index of the first move
+     * @param tactical whether to generate the captures and promotions
+     * @param quiet whether to generate the other moves
+     * @return the index after the last move
+     */
+    private int generatePawnMoves(final int[] moves, final int start, final boolean tactical, final boolean quiet) {
+        final int us = this.sideToMove;
+        final int forward = us == Alliance.WHITE.ordinal() ? -BoardUtils.NUM_TILES_PER_ROW : BoardUtils.NUM_TILES_PER_ROW;
+        final long startRow = us == Alliance.WHITE.ordinal() ? BitBoard.ROWS[6] : BitBoard.ROWS[1];
+        final long promotionRow = us == Alliance.WHITE.ordinal() ? BitBoard.ROWS[0] : BitBoard.ROWS[7];
+        final long enemy = this.allianceOccupancy[us ^ 1];
+        int count = start;
+        long pawns = this.pieceBoards[us * BitBoard.NUM_PIECE_TYPES + PieceType.PAWN.ordinal()];
+        while (pawns != BitBoard.EMPTY) { /* for each pawn */
+            final int from = BitBoard.firstSquare(pawns);
+            final int to = from + forward;
+            if (!BitBoard.isSet(this.occupancy, to)) { /* one tile forward */
+                if (BitBoard.isSet(promotionRow, to) ? tactical : quiet) {
+                    count = addPawnMove(moves, count, from, to, QUIET, promotionRow);
+                }
+                if (quiet && BitBoard.isSet(startRow, from) && !BitBoard.isSet(this.occupancy, to + forward)) { /* two tiles forward */
+                    moves[count++] = encode(from, to + forward, DOUBLE_PAWN_PUSH);
+                }
+            }
+            if (tactical) {
+                final long captureTiles = BitBoard.pawnAttacks(from, us);
+                long captures = captureTiles & enemy;
+                while (captures != BitBoard.EMPTY) { /* for each capture */
+                    count = addPawnMove(moves, count, from, BitBoard.firstSquare(captures), CAPTURE, promotionRow);
+                    captures &= captures - 1;
+                }
+                if (this.enPassantSquare != -1 && BitBoard.isSet(captureTiles, this.enPassantSquare)) { /* en passant */
+                    moves[count++] = encode(from, this.enPassantSquare, EN_PASSANT);
+                }
+            }
+            pawns &= pawns - 1;
+        }
+        return count;
+    }
+
+    /** Adds a pawn move, or the four promotions if the pawn reaches the last row
+     *
+     * @param moves the array to write the moves to
+     * @param count the index of the next move
+     * @param from the tile the pawn moves from
+     * @param to the tile the pawn moves to
+     * @param flag the flag of the move
+     * @param promotionRow the row the pawn promotes on
+     * @return the index after the added moves
+     */
+    private int addPawnMove(final int[] moves, int count, final int from, final int to, final int flag,
+                                   final long promotionRow) {
+        if (BitBoard.isSet(promotionRow, to)) {
+            for (int promotion = 3; promotion >= 0; promotion--) { /* queen first */
+                moves[count++] = encode(from, to, flag | PROMOTION | promotion);
+            }
+        } else {
+            moves[count++] = encode(from, to, flag);
+        }
+        return count;
+    }
+
+    /** Generates the castles of the side to move
+     *
+     * @param moves the array to write the moves to
+     * @param start the index of the first move
+     * @return the index after the last move
+     */
+    private int generateCastles(final int[] moves, final int start) {
+        int count = start;
+        final int king = this.sideToMove == Alliance.WHITE.ordinal() ? 60 : 4;
+        if (canCastle(this.sideToMove, true)) {
+            moves[count++] = encode(king, king + 2, KING_CASTLE);
+        }
+        if (canCastle(this.sideToMove, false)) {
+            moves[count++] = encode(king, king - 2, QUEEN_CASTLE);
+        }
+        return count;
+    }
+
+    /** Checks if an alliance can castle
+     *
+     * @param us the alliance ordinal
+     * @param kingSide true for the king side, false for the queen side
+     * @return true if the alliance has the right, the tiles in between are empty and the king is not in,
+     * passing through or ending in check
+     */
+    private boolean canCastle(final int us, final boolean kingSide) {
+        final int right;
+        if (us == Alliance.WHITE.ordinal()) {
+            right = kingSide ? BoardUtils.WHITE_KING_SIDE : BoardUtils.WHITE_QUEEN_SIDE;
+        } else {
+            right = kingSide ? BoardUtils.BLACK_KING_SIDE : BoardUtils.BLACK_QUEEN_SIDE;
+        }
+        if ((this.castlingRights & right) == 0) {
+            return false;
+        }
+        final int king = us == Alliance.WHITE.ordinal() ? 60 : 4;
+        final int direction = kingSide ? 1 : -1;
+        if (this.mailbox[king + direction] != EMPTY_SQUARE || this.mailbox[king + 2 * direction] != EMPTY_SQUARE ||
+                (!kingSide && this.mailbox[king - 3] != EMPTY_SQUARE)) { /* the tiles in between must be empty */
+            return false;
+        }
+        return !isSquareAttacked(king, us ^ 1) && !isSquareAttacked(king + direction, us ^ 1) &&
+                !isSquareAttacked(king + 2 * direction, us ^ 1);
+    }
+
+    /** Counts the pseudo legal moves of an alliance without generating them
+     * <p>
+     * Promotions are counted once, as a {@link Board} only promotes to queens.
+     *
+     * @param alliance the alliance
+     * @return the number of moves
+     */
+    public int countMoves(final Alliance alliance) {
+        final int us = alliance.ordinal();
+        final long own = this.allianceOccupancy[us];
+        final long empty = ~this.occupancy;
+        final long pawns = this.pieceBoards[us * BitBoard.NUM_PIECE_TYPES + PieceType.PAWN.ordinal()];
+        final long singles;
+        final long doubles;
+        if (alliance.isWhite()) {
+            singles = (pawns >>> BoardUtils.NUM_TILES_PER_ROW) & empty;
+            doubles = ((singles & BitBoard.ROWS[5]) >>> BoardUtils.NUM_TILES_PER_ROW) & empty;
+        } else {
+            singles = (pawns << BoardUtils.NUM_TILES_PER_ROW) & empty;
+            doubles = ((singles & BitBoard.ROWS[2]) << BoardUtils.NUM_TILES_PER_ROW) & empty;
+        }
+        int count = BitBoard.count(singles) + BitBoard.count(doubles);
+        long pieces = own;
+        while (pieces != BitBoard.EMPTY) { /* captures of the pawns and moves of the other pieces */
+            final int from = BitBoard.firstSquare(pieces);
+            final int pieceType = this.mailbox[from] % BitBoard.NUM_PIECE_TYPES;
+            if (pieceType == PieceType.PAWN.ordinal()) {
+                count += BitBoard.count(BitBoard.pawnAttacks(from, us) & this.allianceOccupancy[us ^ 1]);
+                if (us == this.sideToMove && this.enPassantSquare != -1 &&
+                        BitBoard.isSet(BitBoard.pawnAttacks(from, us), this.enPassantSquare)) {
+                    count++;
+                }
+            } else {
+                count += BitBoard.count(attacks(pieceType, us, from) & ~own);
+            }
+            pieces &= pieces - 1;
+        }
+        if (canCastle(us, true)) {
+            count++;
+        }
+        if (canCastle(us, false)) {
+            count++;
+        }
+        return count;
+    }
+
+    /** Makes a move
+     * <p>
+     * If the move leaves the own king attacked it is taken back right away.
+     *
+     * @param move a pseudo legal move of the side to move
+     * @return true if the move was legal and is made
+     */
+    public boolean makeMove(final int move) {
+        final int us = this.sideToMove;
+        final int from = getFrom(move);
+        final int to = getTo(move);
+        final int flag = getFlag(move);
+        final int piece = this.mailbox[from];
+        this.undoMove[this.ply] = move;
+        this.undoCastlingRights[this.ply] = this.castlingRights;
+        this.undoCastled[this.ply] = this.castled;
+        this.undoEnPassantSquare[this.ply] = this.enPassantSquare;
+        this.undoZobristKey[this.ply] = this.zobristKey;
+        int captured = EMPTY_SQUARE;
+        if (flag == EN_PASSANT) { /* the captured pawn is behind the destination */
+            final int capturedSquare = to - (us == Alliance.WHITE.ordinal() ? -BoardUtils.NUM_TILES_PER_ROW : BoardUtils.NUM_TILES_PER_ROW);
+            captured = this.mailbox[capturedSquare];
+            removePiece(captured, capturedSquare);
+        } else if ((flag & CAPTURE) != 0) {
+            captured = this.mailbox[to];
+            removePiece(captured, to);
+        }
+        this.undoCaptured[this.ply] = captured;
+        removePiece(piece, from);
+        if ((flag & PROMOTION) != 0) {
+            putPiece(us * BitBoard.NUM_PIECE_TYPES + getPromotionType(move).ordinal(), to);
+        } else {
+            putPiece(piece, to);
+        }
+        if (flag == KING_CASTLE || flag == QUEEN_CASTLE) { /* move the rook */
+            final int rookFrom = flag == KING_CASTLE ? to + 1 : to - 2;
+            final int rookTo = flag == KING_CASTLE ? to - 1 : to + 1;
+            final int rook = this.mailbox[rookFrom];
+            removePiece(rook, rookFrom);
+            putPiece(rook, rookTo);
+            this.castled |= 1 << us;
+        } else if (piece % BitBoard.NUM_PIECE_TYPES == PieceType.KING.ordinal()) { /* a king that moves on is no longer castled */
+            this.castled &= ~(1 << us);
+        }
+        this.zobristKey ^= Zobrist.castling(this.castlingRights);
+        this.castlingRights &= BoardUtils.CASTLING_MASK[from] & BoardUtils.CASTLING_MASK[to];
+        this.zobristKey ^= Zobrist.castling(this.castlingRights);
+        if (this.enPassantSquare != -1) {
+            this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare);
+        }
+        this.enPassantSquare = flag == DOUBLE_PAWN_PUSH ? (from + to) / 2 : -1;
+        if (this.enPassantSquare != -1) {
+            this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare);
+        }
+        this.sideToMove = us ^ 1;
+        this.zobristKey ^= Zobrist.sideToMove();
+        this.ply++;
+        if (isInCheck(us)) { /* the move leaves the king in check */
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    /** Takes back the last move */
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.undoMove[this.ply];
+        final int us = this.sideToMove ^ 1;
+        final int from = getFrom(move);
+        final int to = getTo(move);
+        final int flag = getFlag(move);
+        final int captured = this.undoCaptured[this.ply];
+        int piece = this.mailbox[to];
+        removePiece(piece, to);
+        if ((flag & PROMOTION) != 0) {
+            piece = us * BitBoard.NUM_PIECE_TYPES + PieceType.PAWN.ordinal();
+        }
+        putPiece(piece, from);
+        if (flag == EN_PASSANT) {
+            putPiece(captured, to - (us == Alliance.WHITE.ordinal() ? -BoardUtils.NUM_TILES_PER_ROW : BoardUtils.NUM_TILES_PER_ROW));
+        } else if (captured != EMPTY_SQUARE) {
+            putPiece(captured, to);
+        }
+        if (flag == KING_CASTLE || flag == QUEEN_CASTLE) { /* move the rook back */
+            final int rookFrom = flag == KING_CASTLE ? to + 1 : to - 2;
+            final int rookTo = flag == KING_CASTLE ? to - 1 : to + 1;
+            final int rook = this.mailbox[rookTo];
+            removePiece(rook, rookTo);
+            putPiece(rook, rookFrom);
+        }
+        this.castlingRights = this.undoCastlingRights[this.ply];
+        this.castled = this.undoCastled[this.ply];
+        this.enPassantSquare = this.undoEnPassantSquare[this.ply];
+        this.zobristKey = this.undoZobristKey[this.ply];
+        this.sideToMove = us;
+    }
+
+    /** Passes the turn without moving, for null move pruning. The null move is {@link MoveEncoding#NO_MOVE} for
+     * {@link #getLastMove(int)}, and only {@link #unmakeNullMove()} takes it back.
+     */
+    public void makeNullMove() {
+        this.undoMove[this.ply] = NO_MOVE;
+        this.undoCaptured[this.ply] = EMPTY_SQUARE;
+        this.undoCastlingRights[this.ply] = this.castlingRights;
+        this.undoCastled[this.ply] = this.castled;
+        this.undoEnPassantSquare[this.ply] = this.enPassantSquare;
+        this.undoZobristKey[this.ply] = this.zobristKey;
+        if (this.enPassantSquare != -1) {
+            this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare);
+            this.enPassantSquare = -1;
+        }
+        this.sideToMove ^= 1;
+        this.zobristKey ^= Zobrist.sideToMove();
+        this.ply++;
+    }
+
+    /** Takes back the null move made last */
+    public void unmakeNullMove() {
+        this.ply--;
+        this.enPassantSquare = this.undoEnPassantSquare[this.ply];
+        this.zobristKey = this.undoZobristKey[this.ply];
+        this.sideToMove ^= 1;
+    }
+
+    /** Checks if the side to move has pieces other than pawns and the king, without which passing is often the
+     * best move and null move pruning goes wrong
+     *
+     * @return true if the side to move has a knight, bishop, rook or queen
+     */
+    public boolean hasNonPawnMaterial() {
+        final int base = this.sideToMove * BitBoard.NUM_PIECE_TYPES;
+        return (this.allianceOccupancy[this.sideToMove] & ~this.pieceBoards[base + PieceType.PAWN.ordinal()] &
+                ~this.pieceBoards[base + PieceType.KING.ordinal()]) != 0;
+    }
+
+    /** Checks if the side to move has a legal move
+     *
+     * @return true if a legal move exists
+     */
+    public boolean hasLegalMoves() {
+        final int count = generateMoves(this.legalMoveBuffer, 0);
+        for (int i = 0; i < count; i++) {
+            if (makeMove(this.legalMoveBuffer[i])) {
+                unmakeMove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Checks if the side to move is checkmated
+     *
+     * @return true if the side to move is in check and has no legal move
+     */
+    public boolean isCheckMate() {
+        return isInCheck() && !hasLegalMoves();
+    }
+
+    /** Checks if the side to move is stalemated
+     *
+     * @return true if the side to move is not in check and has no legal move
+     */
+    public boolean isStaleMate() {
+        return !isInCheck() && !hasLegalMoves();
+    }
+
+    /** Puts a piece on an empty tile
+     *
+     * @param piece the piece index
+     * @param tileCoordinate the tile coordinate
+     */
+    private void putPiece(final int piece, final int tileCoordinate) {
+        final long square = BitBoard.squareMask(tileCoordinate);
+        this.pieceBoards[piece] |= square;
+        this.allianceOccupancy[piece / BitBoard.NUM_PIECE_TYPES] |= square;
+        this.occupancy |= square;
+        this.mailbox[tileCoordinate] = piece;
+        this.zobristKey ^= Zobrist.piece(piece, tileCoordinate);
+    }
+
+    /** Removes a piece from a tile
+     *
+     * @param piece the piece index
+     * @param tileCoordinate the tile coordinate
+     */
+    private void removePiece(final int piece, final int tileCoordinate) {
+        final long square = ~BitBoard.squareMask(tileCoordinate);
+        this.pieceBoards[piece] &= square;
+        this.allianceOccupancy[piece / BitBoard.NUM_PIECE_TYPES] &= square;
+        this.occupancy &= square;
+        this.mailbox[tileCoordinate] = EMPTY_SQUARE;
+        this.zobristKey ^= Zobrist.piece(piece, tileCoordinate);
+    }
+
+    /** Checks if the king of an alliance of a board is castled
+     *
+     * @param board the board
+     * @param alliance the alliance
+     * @return true if the king is castled
+     */
+    private static boolean isKingCastled(final Board board, final Alliance alliance) {
+        return board.getPlayer(alliance).isCastled();
+    }
+
+    /** Initializes the piece values
+     *
+     * @return the piece values by piece type ordinal
+     */
+    private static int[] initPieceValues() {
+        final int[] values = new int[PIECE_TYPES.length];
+        for (final PieceType pieceType : PIECE_TYPES) {
+            values[pieceType.ordinal()] = pieceType.getPieceValue();
+        }
+        return values;
+    }
+}
@@ -1,7 +1,6 @@
 package com.chess.model.board;
 
 import com.chess.controller.Alliance;
-import com.chess.controller.Player;
 import com.chess.model.pieces.Piece;
 
 import java.util.Collections;
@@ -74,29 +73,16 @@ public abstract class Tile {
         return this.tileCoord;
     }
 
-    public boolean isAttacked(Board board, Alliance pieceAlliance) {
-
-        // Check that player is not null
-        if (board.getPlayer(pieceAlliance) != null) {
-
-            if (pieceAlliance == Alliance.WHITE) {
-                Player opponent = board.blackPlayer();
-                for (final Move move : opponent.getLegalMoves()) {
-                    if (move.getDestinationCoordinate() == this.tileCoord) {
-                        return true;
-                    }
-                }
-            } else {
-                Player opponent = board.whitePlayer();
-                for (final Move move : opponent.getLegalMoves()) {
-                    if (move.getDestinationCoordinate() == this.tileCoord) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+    /** Check if the tile is attacked by the opponent of an alliance
+     *
+     * @param board the board
+     * @param pieceAlliance the alliance defending the tile
+     * @return true if an opposing piece attacks the tile
+     */
+    public boolean isAttacked(final Board board, final Alliance pieceAlliance) {
+        return board.isSquareAttacked(this.tileCoord, pieceAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
     }
+
     public static final class EmptyTile extends Tile {
 
         /** Constructor
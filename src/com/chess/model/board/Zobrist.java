@@ -0,0 +1,137 @@
+package com.chess.model.board;
+
+import com.chess.controller.Alliance;
+import com.chess.model.pieces.Piece;
+import com.chess.model.pieces.PieceType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys of chess positions.
+ * <p>
+ * Every piece on every tile, the side to move, every set of castling rights and every en passant file has a random
+ * 64 bit number. The key of a position is the exclusive or of the numbers of everything in it, so a move changes the
+ * key by the numbers of the few things it changes, and the same position reached by different moves has the same
+ * key. {@link Board} and {@link MutableBoard} keep their keys up to date move by move, {@link #calculate(Board)}
+ * builds one from scratch.
+ */
+public final class Zobrist {
+
+    /** The numbers of the pieces, indexed by {@link BitBoard#index(PieceType, Alliance)} and tile */
+    private static final long[][] PIECES = new long[2 * BitBoard.NUM_PIECE_TYPES][BoardUtils.NUM_TILES];
+    /** The numbers of the castling rights, indexed by the rights, see {@link BoardUtils#calculateCastlingRights(Board)} */
+    private static final long[] CASTLING = new long[16];
+    /** The numbers of the en passant files */
+    private static final long[] EN_PASSANT = new long[BoardUtils.NUM_TILES_PER_ROW];
+    /** The number of black to move */
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(0x5DEECE66DL); /* a fixed seed, keys are the same every run */
+        for (final long[] piece : PIECES) {
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                piece[tile] = random.nextLong();
+            }
+        }
+        for (int rights = 1; rights < CASTLING.length; rights++) { /* no rights at all leaves the key alone */
+            CASTLING[rights] = random.nextLong();
+        }
+        for (int file = 0; file < EN_PASSANT.length; file++) {
+            EN_PASSANT[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    /** Not instantiable */
+    private Zobrist() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    /** Gets the number of a piece on a tile
+     *
+     * @param piece the piece index, see {@link BitBoard#index(PieceType, Alliance)}
+     * @param tileCoordinate the tile coordinate
+     * @return the number
+     */
+    public static long piece(final int piece, final int tileCoordinate) {
+        return PIECES[piece][tileCoordinate];
+    }
+
+    /** Gets the number of a piece on a tile
+     *
+     * @param pieceType the piece type
+     * @param alliance the alliance of the piece
+     * @param tileCoordinate the tile coordinate
+     * @return the number
+     */
+    public static long piece(final PieceType pieceType, final Alliance alliance, final int tileCoordinate) {
+        return PIECES[BitBoard.index(pieceType, alliance)][tileCoordinate];
+    }
+
+    /** Gets the number of a piece on its tile
+     *
+     * @param piece the piece
+     * @return the number
+     */
+    public static long piece(final Piece piece) {
+        return piece(piece.getPieceType(), piece.getPieceAlliance(), piece.getPiecePosition());
+    }
+
+    /** Gets the number of a set of castling rights
+     *
+     * @param rights the castling rights
+     * @return the number, 0 without rights
+     */
+    public static long castling(final int rights) {
+        return CASTLING[rights];
+    }
+
+    /** Gets the number of an en passant file
+     *
+     * @param tileCoordinate a tile on the file, the passed tile or the tile of the pawn that jumped
+     * @return the number
+     */
+    public static long enPassant(final int tileCoordinate) {
+        return EN_PASSANT[tileCoordinate % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    /** Gets the number of the side to move
+     *
+     * @param alliance the alliance to move
+     * @return the number, 0 with white to move
+     */
+    public static long sideToMove(final Alliance alliance) {
+        return alliance.isWhite() ? 0L : BLACK_TO_MOVE;
+    }
+
+    /** Gets the number that flips the side to move
+     *
+     * @return the number
+     */
+    public static long sideToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    /** Calculates the key of a board from scratch
+     *
+     * @param board the board
+     * @return the key
+     */
+    public static long calculate(final Board board) {
+        long key = sideToMove(board.currentPlayer().getAlliance()) ^ castling(board.getCastlingRights());
+        final BitBoard bitBoard = board.getBitBoard();
+        for (final PieceType pieceType : PieceType.values()) {
+            for (final Alliance alliance : Alliance.values()) {
+                long pieces = bitBoard.getPieces(pieceType, alliance);
+                while (pieces != BitBoard.EMPTY) {
+                    key ^= piece(pieceType, alliance, BitBoard.firstSquare(pieces));
+                    pieces &= pieces - 1;
+                }
+            }
+        }
+        if (board.getEnPassantPawn() != null) {
+            key ^= enPassant(board.getEnPassantPawn().getPiecePosition());
+        }
+        return key;
+    }
+}
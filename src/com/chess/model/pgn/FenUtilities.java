@@ -53,7 +53,7 @@ public class FenUtilities {
         // Loop through the board tiles
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
             // Get the piece at the current tile
-            final Piece piece = board.getTile(i).getPiece();
+            final Piece piece = board.getPiece(i);
             // If the tile is empty, add a dash
             if (piece == null) {
                 fenBuilder.append("-");
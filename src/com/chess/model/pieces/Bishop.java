@@ -1,25 +1,14 @@
 package com.chess.model.pieces;
 
 import com.chess.controller.Alliance;
+import com.chess.model.board.BitBoard;
 import com.chess.model.board.Board;
-import com.chess.model.board.BoardUtils;
 import com.chess.model.board.Move;
-import com.chess.model.board.Move.MajorAttackMove;
-import com.chess.model.board.Move.MajorMove;
-import com.chess.model.board.Tile;
 
-import java.util.*;
+import java.util.Collection;
 
 public class Bishop extends Piece {
 
-    /** The possible move offsets for the bishop
-     * -9 : diagonal left up
-     * -7 : diagonal right up
-     *  7 : diagonal left down
-     *  9 : diagonal right down
-     */
-    private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATES = { -9, -7, 7, 9 };
-
     /** Constructor
      *
      * @param piecePosition the position of the piece
@@ -48,37 +37,8 @@ public class Bishop extends Piece {
     }
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>(); /* for each of the possible moves, check if the move is legal */
-
-        for (final int currentCandidate : CANDIDATE_MOVE_VECTOR_COORDINATES){
-            int candidateDestinationCoordinate = this.piecePosition;
-            while (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                /* if the bishop is on the these column, the move is illegal */
-                if (isFirstColumnExclusion(candidateDestinationCoordinate, currentCandidate) ||
-                        isEighthColumnExclusion(candidateDestinationCoordinate, currentCandidate)) {
-                    break;
-                }
-                /* add the offset to the current position */
-                candidateDestinationCoordinate += currentCandidate;
-                if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                    if (!candidateDestinationTile.isTileOccupied()) {
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                    } else {
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-
-        }
-        /* return an immutable copy of the list of legal moves */
-        return Collections.unmodifiableList(legalMoves);
+        /* the attacks along the diagonals come from the magic bitboard tables */
+        return calculateMoves(board, BitBoard.bishopAttacks(this.piecePosition, board.getBitBoard().getOccupancy()));
     }
 
     /**
@@ -96,24 +56,4 @@ public class Bishop extends Piece {
     public int locationBonus() {
         return this.pieceAlliance.bishopBonus(this.piecePosition);
     }
-
-    /** if the bishop is on the first, the move is illegal
-     *
-     * @param currentPosition the current position of the bishop
-     * @param candidateOffset the offset of the move
-     * @return true if the move is illegal, false otherwise
-     */
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -9 || candidateOffset == 7);
-    }
-
-    /** if the bishop is on the eigth column, the move is illegal
-     *
-     * @param currentPosition the current position of the bishop
-     * @param candidateOffset the offset of the move
-     * @return true if the move is illegal, false otherwise
-     */
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.EIGHTH_COLUMN[currentPosition] && (candidateOffset == -7 || candidateOffset == 9);
-    }
 }
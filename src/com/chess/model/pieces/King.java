@@ -1,29 +1,14 @@
 package com.chess.model.pieces;
 
 import com.chess.controller.Alliance;
+import com.chess.model.board.BitBoard;
 import com.chess.model.board.Board;
-import com.chess.model.board.BoardUtils;
 import com.chess.model.board.Move;
-import com.chess.model.board.Tile;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 public class King extends Piece{
 
-    /** The possible move offsets for the king
-     * -9 : top left
-     * -8 : top
-     * -7 : top right
-     * -1 : left
-     *  1 : right
-     *  7 : bottom left
-     *  8 : bottom
-     *  9 : bottom right
-     */
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {-9, -8, -7, -1, 1, 7, 8, 9};
     private boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -105,51 +90,10 @@ public class King extends Piece{
 
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-        // List of legal moves
-        final List<Move> legalMoves = new ArrayList<>();
-
-        // Loop through the possible move offsets
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
-            // Get the destination coordinate
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-
-            // If the destination coordinate is valid
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                // If the king is on the edge of the board
-                if (isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                        isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-                    // Skip to the next offset
-                    continue;
-                }
-
-                // Get the tile at the destination coordinate
-                final Piece pieceAtDestination = board.getTile(candidateDestinationCoordinate).getPiece();
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                // Check if the move puts the king in check
-                if (!candidateDestinationTile.isAttacked(board, this.pieceAlliance)) {
-                    // If the tile is empty
-                    if (pieceAtDestination == null) {
-                        // Add the move to the list of legal moves
-                        legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
-                    }
-                    // If the tile is occupied
-                    else {
-                        // Get the alliance of the piece at the destination coordinate
-                        final Alliance pieceAtDestinationAlliance = pieceAtDestination.getPieceAlliance();
-
-                        // If the piece at the destination coordinate is not the same alliance as the king
-                        if (this.pieceAlliance != pieceAtDestinationAlliance) {
-                            // Add the move to the list of legal moves
-                            legalMoves.add(new Move.MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                        }
-                    }
-                }
-            }
-        }
-        return Collections.unmodifiableList(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        /* one lookup in the king attack table, moves into check are rejected by Player.makeMove
+         * and castles are added by the players */
+        return calculateMoves(board, BitBoard.kingAttacks(this.piecePosition));
     }
 
     /**
@@ -176,35 +120,4 @@ public class King extends Piece{
     public String toString() {
         return PieceType.KING.toString();
     }
-
-    /** If the king is on the first column, the move is illegal
-     *
-     * @param piecePosition the current position of the king
-     * @param currentCandidateOffset the offset of the move
-     * @return true if the move is illegal
-     */
-    private boolean isEighthColumnExclusion(int piecePosition, int currentCandidateOffset) {
-        // If the king is on the eighth column and the move is to the rightup, right, or rightdown, the move is illegal
-        boolean onEightgh = BoardUtils.EIGHTH_COLUMN[piecePosition];
-        boolean toRight = currentCandidateOffset == 1;
-        boolean toRightUp = currentCandidateOffset == 9;
-        boolean toRightDown = currentCandidateOffset == -7;
-return onEightgh && (toRight || toRightUp || toRightDown);
-
-    }
-
-    /** If the king is on the eighth column, the move is illegal
-     *
-     * @param piecePosition the current position of the king
-     * @param currentCandidateOffset the offset of the move
-     * @return true if the move is illegal
-     */
-    private boolean isFirstColumnExclusion(int piecePosition, int currentCandidateOffset) {
-        // If the king is on the first column and the move is to the leftup, left, or leftdown, the move is illegal
-        boolean onFirst = BoardUtils.FIRST_COLUMN[piecePosition];
-        boolean toLeft = currentCandidateOffset == -1;
-        boolean toLeftUp = currentCandidateOffset == 7;
-        boolean toLeftDown = currentCandidateOffset == -9;
-        return onFirst && (toLeft || toLeftUp || toLeftDown);
-    }
 }
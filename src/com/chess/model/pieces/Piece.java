@@ -1,10 +1,16 @@
 package com.chess.model.pieces;
 
 import com.chess.controller.Alliance;
+import com.chess.model.board.BitBoard;
 import com.chess.model.board.Board;
 import com.chess.model.board.Move;
+import com.chess.model.board.Move.MajorAttackMove;
+import com.chess.model.board.Move.MajorMove;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 public abstract class Piece {
 
@@ -79,6 +85,29 @@ public abstract class Piece {
     */
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    /** Create the moves of the piece to the tiles it attacks
+    *
+    * @param board the board
+    * @param attacks the tiles the piece attacks
+    * @return a collection of moves to the empty tiles and attacks on the enemy pieces, lowest tile first
+    */
+    protected Collection<Move> calculateMoves(final Board board, final long attacks) {
+        final BitBoard bitBoard = board.getBitBoard(); /* the bitboards of the position */
+        long targets = attacks & ~bitBoard.getOccupancy(this.pieceAlliance); /* the own pieces block */
+        final List<Move> legalMoves = new ArrayList<>(BitBoard.count(targets));
+        while (targets != BitBoard.EMPTY) { /* for each target tile */
+            final int destination = BitBoard.firstSquare(targets);
+            final Piece attackedPiece = bitBoard.getPiece(destination);
+            if (attackedPiece == null) {
+                legalMoves.add(new MajorMove(board, this, destination));
+            } else {
+                legalMoves.add(new MajorAttackMove(board, this, destination, attackedPiece));
+            }
+            targets &= targets - 1; /* clear the tile */
+        }
+        return Collections.unmodifiableList(legalMoves);
+    }
+
     /** Return a new piece with the updated position
      *
      * @param move the move
@@ -1,30 +1,14 @@
 package com.chess.model.pieces;
 
 import com.chess.controller.Alliance;
+import com.chess.model.board.BitBoard;
 import com.chess.model.board.Board;
-import com.chess.model.board.BoardUtils;
 import com.chess.model.board.Move;
-import com.chess.model.board.Move.MajorAttackMove;
-import com.chess.model.board.Tile;
 
-import java.util.*;
-
-import static com.chess.model.board.BoardUtils.isValidTileCoordinate;
+import java.util.Collection;
 
 public class Queen extends Piece{
 
-    /** The offsets for the queen's legal moves
-     * -9  : up 1, left 1
-     * -8  : up 1
-     * -7  : up 1, right 1
-     * -1  : left 1
-     *  1  : right 1
-     *  7  : down 1, left 1
-     *  8  : down 1
-     *  9  : down 1, right 1
-     */
-    private final static int[] CANDIDATE_MOVE_VECTOR_COORDINATES = {-9, -8, -7, -1, 1, 7, 8, 9};
-
     /** Constructor
      *
      * @param piecePosition the position of the piece
@@ -49,39 +33,9 @@ public class Queen extends Piece{
         return PieceType.QUEEN.toString();
     }
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        /* for each of the possible moves, check if the move is legal */
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_VECTOR_COORDINATES) {
-            int candidateDestinationCoordinate = this.piecePosition;
-            while (isValidTileCoordinate(candidateDestinationCoordinate)) {
-                /* if the rook is on the these column, the move is illegal */
-                if (isFirstColumnExclusion(candidateDestinationCoordinate, currentCandidateOffset) ||
-                        isEighthColumnExclusion(candidateDestinationCoordinate, currentCandidateOffset)) {
-                    break;
-                }
-                /* add the offset to the current position */
-                candidateDestinationCoordinate += currentCandidateOffset;
-                if (isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    /* if the tile is not occupied, add the move to the list of legal moves */
-                    final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                    if (!candidateDestinationTile.isTileOccupied()) {
-                        legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
-                    } else {
-                        /* if the tile is occupied, check if the piece is an enemy piece */
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                        }
-                        /* if the piece is an ally piece, the move is illegal */
-                        break;
-                    }
-                }
-            }
-        }
-        /* return an unmodifiable collection of legal moves */
-        return Collections.unmodifiableList(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        /* the attacks along the ranks, files and diagonals come from the magic bitboard tables */
+        return calculateMoves(board, BitBoard.queenAttacks(this.piecePosition, board.getBitBoard().getOccupancy()));
     }
 
     /**
@@ -99,24 +53,4 @@ public class Queen extends Piece{
     public int locationBonus() {
         return this.pieceAlliance.queenBonus(this.piecePosition);
     }
-
-    /** If the Queen is on the Eighth Column, the move is illegal
-     *
-     * @param candidateDestinationCoordinate the current position of the Queen
-     * @param currentCandidateOffset the offset of the move
-     * @return true if the move is illegal, false otherwise
-     */
-    private boolean isEighthColumnExclusion(int candidateDestinationCoordinate, int currentCandidateOffset) {
-        return BoardUtils.EIGHTH_COLUMN[candidateDestinationCoordinate] && (currentCandidateOffset == 1 || currentCandidateOffset == 9 || currentCandidateOffset == -7);
-    }
-
-    /** If the Queen is on the First Column, the move is illegal
-     *
-     * @param candidateDestinationCoordinate the current position of the Queen
-     * @param currentCandidateOffset the offset of the move
-     * @return true if the move is illegal, false otherwise
-     */
-    private boolean isFirstColumnExclusion(int candidateDestinationCoordinate, int currentCandidateOffset) {
-        return BoardUtils.FIRST_COLUMN[candidateDestinationCoordinate] && (currentCandidateOffset == -1 || currentCandidateOffset == -9 || currentCandidateOffset == 7);
-    }
 }
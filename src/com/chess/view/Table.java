@@ -7,7 +7,9 @@ import com.chess.model.pieces.Piece;
 import com.chess.controller.MoveTransition;
 import com.chess.controller.Player;
 import com.chess.controller.ai.AlphaBetaWithMoveOrdering;
+import com.chess.controller.ai.SearchHandle;
 import com.chess.controller.ai.StandardBoardEvaluator;
+import com.chess.controller.ai.TranspositionTable;
 import com.chess.model.pgn.FenUtilities;
 import com.chess.model.pgn.MySqlGamePersistence;
 
@@ -44,6 +46,8 @@ public class Table extends Observable {
     private final MoveLog moveLog; // MoveLog is a class that creates a move log
 
     private final GameSetup gameSetup; // GameSetup is a class that creates a game setup
+    private final TranspositionTable transpositionTable; // search results kept from one computer move to the next
+    private SearchHandle searchHandle; // handle on the running computer search, null when the computer is not thinking
 
     private String pieceIconPath; // path to the images of the pieces
     private Tile sourceTile; // source tile
@@ -80,11 +84,18 @@ public class Table extends Observable {
         this.boardDirection = BoardDirection.NORMAL; // Sets the board direction to normal
         this.boardPanel = new BoardPanel(); // Creates a new BoardPanel
         this.moveLog = new MoveLog(); // Creates a new MoveLog
+        this.transpositionTable = new TranspositionTable(); // Creates the table shared by the computer's searches
         this.addObserver(new TableGameAIWatcher()); // Adds a new TableGameAIWatcher to the observers
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST); // Adds the TakenPiecesPanel to the left side of the JFrame
         this.gameFrame.add(this.boardPanel, BorderLayout.CENTER); // Adds the BoardPanel to the center of the JFrame
         this.gameFrame.add(this.gameHistoryPanel, BorderLayout.EAST); // Adds the GameHistoryPanel to the right side of the JFrame
         this.highlightLegalMoves = true; // Sets highlightLegalMoves to false
+        this.gameFrame.addWindowListener(new WindowAdapter() { // Stops the computer search when the window closes
+            @Override
+            public void windowClosing(final WindowEvent e) {
+                Table.get().stopComputerSearch();
+            }
+        });
         this.gameFrame.setVisible(true); // Sets the JFrame to be visible
 
 
@@ -112,6 +123,19 @@ public class Table extends Observable {
     private GameSetup getGameSetup() {
         return this.gameSetup;
     }
+    private TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    /**
+     * Stops the running computer search, its move is not played
+     */
+    private void stopComputerSearch() {
+        if (this.searchHandle != null) {
+            this.searchHandle.stop();
+            this.searchHandle = null;
+        }
+    }
 
 
     /**
@@ -415,6 +439,7 @@ public class Table extends Observable {
 
 
     private void undoAllMoves() {
+        stopComputerSearch();
         for(int i = Table.get().getMoveLog().size() - 1; i >= 0; i--) {
             final Move lastMove = Table.get().getMoveLog().removeMove(Table.get().getMoveLog().size() - 1);
             this.chessBoard = this.chessBoard.currentPlayer().unMakeMove(lastMove).getTransitionBoard();
@@ -428,6 +453,7 @@ public class Table extends Observable {
         //Table.get().getDebugPanel().redo();
     }
     private void undoLastMove() {
+        stopComputerSearch();
         final Move lastMove = Table.get().getMoveLog().removeMove(Table.get().getMoveLog().size() - 1);
         this.chessBoard = this.chessBoard.currentPlayer().unMakeMove(lastMove).getTransitionBoard();
         this.computerMove = null;
@@ -457,6 +483,8 @@ public class Table extends Observable {
                     !Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
                 System.out.println(Table.get().getGameBoard().currentPlayer() + " is set to AI, thinking....");
                 final AIThinkTank thinkTank = new AIThinkTank();
+                Table.get().stopComputerSearch();
+                Table.get().searchHandle = thinkTank.handle;
                 thinkTank.execute();
             }
 
@@ -484,10 +512,16 @@ public class Table extends Observable {
      */
     private static class AIThinkTank extends SwingWorker<Move, String> {
 
+        /**
+         * The handle on the search, stopped when the game changes under it.
+         */
+        private final SearchHandle handle;
+
         /**
          * The AI player.
          */
         private AIThinkTank() {
+            this.handle = SearchHandle.unlimited();
         }
 
         @Override
@@ -508,15 +542,21 @@ public class Table extends Observable {
                 int depth = Table.get().getGameSetup().getSearchDepth();
                 // initialize a decent quiescence search depth
                 int quiescence = depth * 2;
-                final AlphaBetaWithMoveOrdering alphaBeta = new AlphaBetaWithMoveOrdering(depth, quiescence);
+                final AlphaBetaWithMoveOrdering alphaBeta = new AlphaBetaWithMoveOrdering(depth, quiescence,
+                        Table.get().getTranspositionTable(), Runtime.getRuntime().availableProcessors());
                 //alphaBeta.addObserver(Table.get().getDebugPanel());
-                bestMove = alphaBeta.execute(Table.get().getGameBoard());
+                bestMove = alphaBeta.execute(Table.get().getGameBoard(), this.handle);
             }
             return bestMove;
         }
 
         @Override
         public void done() {
+            if (this.handle.isCancelled()) {
+                // The game changed while the computer was thinking, the move is not played.
+                return;
+            }
+            Table.get().searchHandle = null;
             try {
                 // get() is a method of SwingWorker that returns the value returned by doInBackground()
                 //TODO breaks when checked, maybe not checking for null?
@@ -15,6 +15,20 @@ import org.junit.runners.Suite;
                      TestPawnStructure.class,
                      TestFENParser.class,
                      TestEngine.class,
-                     TestPGNParser.class})
+                     TestPGNParser.class,
+                     TestMutableBoard.class,
+                     TestZobrist.class,
+                     TestTranspositionTable.class,
+                     TestSearchHandle.class,
+                     TestLazySmp.class,
+                     TestParallelRoot.class,
+                     TestYoungBrothersWait.class,
+                     TestMoveHistory.class,
+                     TestQuiescence.class,
+                     TestStaticExchange.class,
+                     TestNullMove.class,
+                     TestLateMoveReductions.class,
+                     TestFrontierPruning.class,
+                     TestMovePicker.class})
 public class ChessTestSuite {
 }
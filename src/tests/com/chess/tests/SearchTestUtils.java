@@ -0,0 +1,47 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.AlphaBetaWithMoveOrdering;
+import com.chess.controller.ai.NegamaxSearch;
+import com.chess.controller.ai.TranspositionTable;
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.board.MutableBoard;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Helpers shared by the search tests.
+ */
+final class SearchTestUtils {
+
+    /** A middle game position with many captures, checks and castles */
+    static final String KIWI_PETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /** A bound on the time a search told to stop within a second takes to return, loose enough for a loaded machine,
+     * in milliseconds, only there to catch a search that does not stop */
+    static final long STOP_SAFETY_BOUND = 30000;
+
+    /** Not instantiable */
+    private SearchTestUtils() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    /** A builder of a negamax search with a transposition table of its own and no other feature on */
+    static NegamaxSearch.Builder searchBuilder() {
+        return new NegamaxSearch.Builder().setTranspositionTable(new TranspositionTable());
+    }
+
+    /** The value of a root move for the side that makes it, searched on its own with a full window */
+    static int value(final Board board, final Move move, final int depth) {
+        final NegamaxSearch search = searchBuilder().build();
+        final MutableBoard searchBoard = new MutableBoard(board);
+        searchBoard.makeMove(Move.MoveFactory.encode(move));
+        return search.searchMove(searchBoard, depth - 1, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY, true);
+    }
+
+    /** Checks that a move is as good as the move of the serial search of the same depth */
+    static void assertSameValueAsSerial(final Board board, final Move move, final int depth) {
+        final Move serial = new AlphaBetaWithMoveOrdering(depth, 0).execute(board);
+        assertEquals(value(board, serial, depth), value(board, move, depth));
+    }
+}
@@ -317,4 +317,17 @@ public class TestCastling {
         assertFalse(t1.getMoveStatus().isDone());
     }
 
+    @Test
+    public void testNoCastlingThroughPawnAttack() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/6p1/R3K2R w KQ - 0 1");
+        assertTrue(board.isSquareAttacked(BoardUtils.getCoordinateAtPosition("f1"), board.blackPlayer().getAlliance()));
+        final Move kingSideCastle = Move.MoveFactory
+                .createMove(board, BoardUtils.getCoordinateAtPosition("e1"), BoardUtils.getCoordinateAtPosition("g1"));
+        assertFalse(board.currentPlayer().makeMove(kingSideCastle).getMoveStatus().isDone());
+        final Move queenSideCastle = Move.MoveFactory
+                .createMove(board, BoardUtils.getCoordinateAtPosition("e1"), BoardUtils.getCoordinateAtPosition("c1"));
+        assertTrue(queenSideCastle.isCastlingMove());
+        assertTrue(board.currentPlayer().makeMove(queenSideCastle).getMoveStatus().isDone());
+    }
+
 }
@@ -0,0 +1,71 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.NegamaxSearch;
+import com.chess.controller.ai.StandardBoardEvaluator;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestFrontierPruning {
+
+    private static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static NegamaxSearch search(final boolean frontierPruning) {
+        return SearchTestUtils.searchBuilder().setQuiescenceDepth(8).setFrontierPruning(frontierPruning).build();
+    }
+
+    /** Searches a board with white to move one ply deep in the null window above the static value plus an offset */
+    private static NegamaxSearch searchAbove(final String fen, final int offset) {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(fen));
+        final int alpha = StandardBoardEvaluator.get().evaluate(board, 1) + offset;
+        final NegamaxSearch search = search(true);
+        search.search(board, 1, alpha, alpha + 1);
+        return search;
+    }
+
+    @Test
+    public void testLopsidedPositionIsPruned() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(
+                "r3k3/ppp2ppp/8/8/8/8/PPPQ1PPP/R3KB1R w KQq - 0 1"));
+        final NegamaxSearch pruned = search(true);
+        final NegamaxSearch full = search(false);
+        pruned.search(board, 4, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        full.search(board, 4, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        assertTrue(pruned.getFrontierPrunes() > 0);
+        assertEquals(0, full.getFrontierPrunes());
+        assertTrue(pruned.getNodes() < full.getNodes());
+    }
+
+    @Test
+    public void testReverseFutility() {
+        final int margin = NegamaxSearch.REVERSE_FUTILITY_MARGIN;
+        final NegamaxSearch belowBeta = searchAbove(START, -margin - 2);    /* beta is the margin below the board */
+        assertEquals(1, belowBeta.getReverseFutilityPrunes());
+        assertEquals(1, belowBeta.getNodes());
+        assertEquals(0, searchAbove(START, -margin).getReverseFutilityPrunes());
+    }
+
+    @Test
+    public void testRazoring() {
+        final int margin = NegamaxSearch.RAZOR_MARGIN;
+        final NegamaxSearch quiet = searchAbove(START, margin + 1);
+        assertEquals(1, quiet.getRazorPrunes());
+        assertEquals(0, quiet.getFutilityPrunes());
+        final NegamaxSearch hangingQueen = searchAbove("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1", margin + 1);
+        assertEquals(0, hangingQueen.getRazorPrunes());        /* the quiescence search takes the queen */
+        assertEquals(0, searchAbove(START, margin - 1).getRazorPrunes());
+    }
+
+    @Test
+    public void testFutility() {
+        final int margin = NegamaxSearch.FUTILITY_MARGIN;
+        final NegamaxSearch futile = searchAbove(START, margin);
+        assertTrue(futile.getFutilityPrunes() > 0);
+        assertEquals(0, futile.getRazorPrunes());
+        assertEquals(futile.getFutilityPrunes(), futile.getFrontierPrunes());
+        assertEquals(0, searchAbove(START, margin - 1).getFutilityPrunes());
+    }
+}
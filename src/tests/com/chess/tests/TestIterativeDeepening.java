@@ -1,11 +1,21 @@
 package tests.com.chess.tests;
 
 import com.chess.controller.Alliance;
+import com.chess.controller.MoveTransition;
+import com.chess.controller.ai.IterativeDeepening;
+import com.chess.controller.ai.MoveStrategy;
+import com.chess.controller.ai.TimeControl;
 import com.chess.model.board.Board;
 import com.chess.model.board.Board.Builder;
+import com.chess.model.board.BoardUtils;
+import com.chess.model.board.Move;
+import com.chess.model.pgn.FenUtilities;
 import com.chess.model.pieces.*;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 public class TestIterativeDeepening {
 
     @Test
@@ -76,13 +86,11 @@ public class TestIterativeDeepening {
         // Set the current player
         builder.setMoveMaker(Alliance.WHITE);
         final Board board = builder.build();
-        /*
         final MoveStrategy iterativeDeepening = new IterativeDeepening(3);
         final Move bestMove = iterativeDeepening.execute(board);
         assertEquals(bestMove, Move.MoveFactory
                 .createMove(board, BoardUtils.getCoordinateAtPosition("d5"), BoardUtils.getCoordinateAtPosition("c7")));
 
-         */
     }
 
     @Test
@@ -139,6 +147,7 @@ public class TestIterativeDeepening {
         assertEquals(bestMove, Move.MoveFactory
                 .createMove(board, BoardUtils.getCoordinateAtPosition("f7"), BoardUtils.getCoordinateAtPosition("e7")));
     }
+    */
 
     @Test
     public void testQualityTwoDepth6() {
@@ -167,7 +176,6 @@ public class TestIterativeDeepening {
                 .createMove(board, BoardUtils.getCoordinateAtPosition("d5"), BoardUtils.getCoordinateAtPosition("e3")));
     }
 
-    */
     @Test
     public void eloTest2() {
         final Builder builder = new Builder();
@@ -282,12 +290,10 @@ public class TestIterativeDeepening {
         // Set the current player
         builder.setMoveMaker(Alliance.WHITE);
         final Board board = builder.build();
-        /*
         final MoveStrategy iterativeDeepening = new IterativeDeepening(3);
         final Move bestMove = iterativeDeepening.execute(board);
         assertEquals(bestMove, Move.MoveFactory
                 .createMove(board, BoardUtils.getCoordinateAtPosition("g2"), BoardUtils.getCoordinateAtPosition("g4")));
-        */
     }
 
     @Test
@@ -316,7 +322,6 @@ public class TestIterativeDeepening {
         builder.setPiece(new Pawn(55, Alliance.WHITE));
         builder.setPiece(new King(62, Alliance.WHITE));
         // Set the current player
-        /*
         builder.setMoveMaker(Alliance.WHITE);
         final Board board = builder.build();
         final MoveStrategy iterativeDeepening = new IterativeDeepening(3);
@@ -324,7 +329,6 @@ public class TestIterativeDeepening {
         assertEquals(bestMove, Move.MoveFactory
                 .createMove(board, BoardUtils.getCoordinateAtPosition("e4"), BoardUtils.getCoordinateAtPosition("e8")));
 
-         */
     }
 
     /*
@@ -364,6 +368,8 @@ public class TestIterativeDeepening {
         assertTrue(t1.getMoveStatus().isDone());
     }
 
+    */
+
     @Test
     public void testAutoResponseVsPrinChess() {
         final Board board = FenUtilities.createGameFromFEN("r2q1rk1/p1p2pp1/3p1b2/2p2QNb/4PB1P/6R1/PPPR4/2K5 b - - 0 1");
@@ -376,5 +382,37 @@ public class TestIterativeDeepening {
         assertTrue(t1.getMoveStatus().isDone());
     }
 
-     */
+    @Test
+    public void testMoveTimeStopsTheSearch() {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final IterativeDeepening iterativeDeepening = new IterativeDeepening(64, TimeControl.moveTime(300));
+        final long start = System.currentTimeMillis();
+        final Move bestMove = iterativeDeepening.execute(board);
+        assertTrue(iterativeDeepening.getCompletedDepth() >= 1 && iterativeDeepening.getCompletedDepth() < 64);
+        assertTrue(System.currentTimeMillis() - start < SearchTestUtils.STOP_SAFETY_BOUND);
+        final MoveTransition t1 = board.currentPlayer()
+                .makeMove(bestMove);
+        assertTrue(t1.getMoveStatus().isDone());
+    }
+
+    @Test
+    public void testClockTimeControl() {
+        final TimeControl timeControl = TimeControl.clock(60000, 1000);
+        assertTrue(timeControl.getSoftLimit() <= timeControl.getHardLimit());
+        assertTrue(timeControl.getHardLimit() < 60000);
+        final TimeControl lowOnTime = TimeControl.clock(100, 0);
+        assertTrue(lowOnTime.getHardLimit() <= 100);
+        assertTrue(lowOnTime.canStartIteration(0, 1, 1));
+        assertTrue(!lowOnTime.canStartIteration(lowOnTime.getSoftLimit(), 1, 1));
+    }
+
+    @Test
+    public void testAspirationWindowFailsHighOnAMate() {
+        final Board board = FenUtilities.createGameFromFEN("5rk1/5Npp/8/3Q4/8/8/8/7K w - - 0 1");
+        final IterativeDeepening iterativeDeepening = new IterativeDeepening(5);
+        final Move bestMove = iterativeDeepening.execute(board);
+        assertEquals(Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("f7"),
+                BoardUtils.getCoordinateAtPosition("h6")), bestMove);
+        assertTrue(iterativeDeepening.getAspirationFailHighs() > 0);
+    }
 }
@@ -0,0 +1,68 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.NegamaxSearch;
+import com.chess.controller.ai.StockAlphaBeta;
+import com.chess.model.board.Board;
+import com.chess.model.board.BoardUtils;
+import com.chess.model.board.Move;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestLateMoveReductions {
+
+    private static NegamaxSearch search(final boolean lateMoveReductions) {
+        return SearchTestUtils.searchBuilder().setLateMoveReductions(lateMoveReductions).build();
+    }
+
+    @Test
+    public void testLateMovesAreReduced() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE));
+        final NegamaxSearch reduced = search(true);
+        final NegamaxSearch full = search(false);
+        reduced.search(board, 6, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        full.search(board, 6, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        assertTrue(reduced.getNodes() < full.getNodes());
+        assertTrue(reduced.getReducedMoves() > 0);
+        assertEquals(0, full.getReducedMoves());
+        assertEquals(0, board.getPly());
+    }
+
+    @Test
+    public void testReducedMovesThatBeatAlphaAreSearchedAgain() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE));
+        final NegamaxSearch search = search(true);
+        search.search(board, 6, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        assertTrue(search.getReSearches() > 0);
+        assertTrue(search.getReSearches() < search.getReducedMoves());
+    }
+
+    @Test
+    public void testNothingBeatsAHopelessAlpha() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE));
+        final NegamaxSearch search = search(true);
+        final int alpha = NegamaxSearch.MATE_THRESHOLD - 1;
+        search.search(board, NegamaxSearch.LATE_MOVE_REDUCTION_DEPTH, alpha, alpha + 1);
+        assertTrue(search.getReducedMoves() > 0);
+        assertEquals(0, search.getReSearches());
+    }
+
+    @Test
+    public void testPrincipalVariationNodesAreNotReduced() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE));
+        final NegamaxSearch search = search(true);      /* only the root is deep enough to reduce, with a full window */
+        search.search(board, NegamaxSearch.LATE_MOVE_REDUCTION_DEPTH, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        assertEquals(0, search.getReducedMoves());
+    }
+
+    @Test
+    public void testMateIsStillFound() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+        final Move bestMove = new StockAlphaBeta(4).execute(board);
+        assertEquals(Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d1"),
+                BoardUtils.getCoordinateAtPosition("d8")), bestMove);
+    }
+}
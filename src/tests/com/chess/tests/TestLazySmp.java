@@ -0,0 +1,51 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.IterativeDeepening;
+import com.chess.controller.ai.LazySmp;
+import com.chess.controller.ai.TimeControl;
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestLazySmp {
+
+    @Test
+    public void testOneThreadIsIterativeDeepening() {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final Move expected = new IterativeDeepening(4).execute(board);
+        assertEquals(expected, new LazySmp(4, TimeControl.NONE, 1).execute(board));
+    }
+
+    @Test
+    public void testFixedDepth() {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final LazySmp lazySmp = new LazySmp(5, TimeControl.NONE, 4);
+        final Move bestMove = lazySmp.execute(board);
+        assertEquals(5, lazySmp.getCompletedDepth());
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
+
+    @Test
+    public void testMoveTime() {
+        final Board board = FenUtilities.createGameFromFEN("r2q1rk1/p1p2pp1/3p1b2/2p2QNb/4PB1P/6R1/PPPR4/2K5 b - - 0 1");
+        final LazySmp lazySmp = new LazySmp(64, TimeControl.moveTime(300), 4);
+        final long start = System.currentTimeMillis();
+        final Move bestMove = lazySmp.execute(board);
+        assertTrue(lazySmp.getCompletedDepth() >= 1 && lazySmp.getCompletedDepth() < 64);
+        assertTrue(System.currentTimeMillis() - start < SearchTestUtils.STOP_SAFETY_BOUND);
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
+
+    @Test
+    public void testAspirationResearches() {
+        final Board board = FenUtilities.createGameFromFEN("5rk1/5Npp/8/3Q4/8/8/8/7K w - - 0 1");
+        final LazySmp lazySmp = new LazySmp(5, TimeControl.NONE, 2);
+        final Move bestMove = lazySmp.execute(board);
+        assertTrue(lazySmp.getAspirationResearches() > 0);
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
+}
@@ -0,0 +1,68 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.Alliance;
+import com.chess.controller.ai.MoveHistory;
+import com.chess.controller.ai.StockAlphaBeta;
+import com.chess.model.board.Board;
+import com.chess.model.board.BoardUtils;
+import com.chess.model.board.Move;
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.pgn.FenUtilities;
+import com.chess.model.pieces.PieceType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestMoveHistory {
+
+    private static int quiet(final String from, final String to, final PieceType type) {
+        return MoveEncoding.create(BoardUtils.getCoordinateAtPosition(from), BoardUtils.getCoordinateAtPosition(to),
+                MoveEncoding.QUIET, type.ordinal(), MoveEncoding.NO_PIECE);
+    }
+
+    @Test
+    public void testKillersShift() {
+        final MoveHistory history = new MoveHistory();
+        final int first = quiet("g1", "f3", PieceType.KNIGHT);
+        final int second = quiet("b1", "c3", PieceType.KNIGHT);
+        history.update(first, 3, 2, Alliance.WHITE);
+        history.update(second, 3, 2, Alliance.WHITE);
+        assertEquals(MoveHistory.KILLER_SCORE + 1, history.score(second, 3, Alliance.WHITE));
+        assertEquals(MoveHistory.KILLER_SCORE, history.score(first, 3, Alliance.WHITE));
+        assertTrue(history.isKiller(first, 3));
+        assertTrue(!history.isKiller(first, 4));
+        history.update(second, 3, 2, Alliance.WHITE);
+        assertTrue(history.isKiller(first, 3));
+    }
+
+    @Test
+    public void testHistoryIsPerSideAndAges() {
+        final MoveHistory history = new MoveHistory();
+        final int move = quiet("e2", "e4", PieceType.PAWN);
+        history.update(move, 1, 4, Alliance.WHITE);
+        assertEquals(16, history.score(move, 2, Alliance.WHITE));
+        assertEquals(0, history.score(move, 2, Alliance.BLACK));
+        history.age();
+        assertTrue(!history.isKiller(move, 1));
+        assertEquals(8, history.score(move, 1, Alliance.WHITE));
+    }
+
+    @Test
+    public void testCapturesAreNotKillers() {
+        final MoveHistory history = new MoveHistory();
+        final int capture = MoveEncoding.create(BoardUtils.getCoordinateAtPosition("e4"),
+                BoardUtils.getCoordinateAtPosition("d5"), MoveEncoding.CAPTURE, PieceType.PAWN.ordinal(),
+                PieceType.PAWN.ordinal());
+        history.update(capture, 1, 4, Alliance.WHITE);
+        assertTrue(!history.isKiller(capture, 1));
+    }
+
+    @Test
+    public void testSearchesWithHistory() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final StockAlphaBeta search = new StockAlphaBeta(3);
+        final Move first = search.execute(board);
+        assertEquals(first, search.execute(board));
+    }
+}
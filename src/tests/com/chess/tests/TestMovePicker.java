@@ -0,0 +1,116 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.MoveHistory;
+import com.chess.controller.ai.MovePicker;
+import com.chess.controller.ai.MoveStack;
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestMovePicker {
+
+    private static final String[] POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b KQkq - 0 1",
+            "r3k2r/1P4P1/8/8/8/8/1p4p1/R3K2R w KQkq - 0 1",
+            "r3k2r/1P4P1/8/8/8/8/1p4p1/R3K2R b KQkq - 0 1"
+    };
+
+    private static int[] generate(final MutableBoard board) {
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        return Arrays.copyOf(moves, board.generateMoves(moves, 0));
+    }
+
+    private static List<Integer> pick(final MutableBoard board,
+                                      final int hashMove,
+                                      final MoveHistory history,
+                                      final boolean tacticalOnly) {
+        final MovePicker movePicker = new MovePicker(new MoveStack());
+        movePicker.reset(board, hashMove, history, tacticalOnly);
+        final List<Integer> picked = new ArrayList<>();
+        for (int move = movePicker.next(); move != MoveEncoding.NO_MOVE; move = movePicker.next()) {
+            picked.add(move);
+        }
+        return picked;
+    }
+
+    private static Set<Integer> asSet(final int[] moves) {
+        final Set<Integer> set = new HashSet<>();
+        for (final int move : moves) {
+            set.add(move);
+        }
+        return set;
+    }
+
+    @Test
+    public void testCapturesAndQuietsSplitTheMoves() {
+        for (final String fen : POSITIONS) {
+            final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(fen));
+            final int[] moves = new int[MutableBoard.MAX_MOVES];
+            final int captureEnd = board.generateCaptures(moves, 0);
+            final int quietEnd = board.generateQuiets(moves, captureEnd);
+            for (int i = 0; i < quietEnd; i++) {
+                assertEquals(fen, i >= captureEnd, MoveHistory.isQuiet(moves[i]));
+            }
+            final int[] split = Arrays.copyOf(moves, quietEnd);
+            final int[] all = generate(board);
+            Arrays.sort(split);
+            Arrays.sort(all);
+            assertTrue(fen, Arrays.equals(all, split));
+        }
+    }
+
+    @Test
+    public void testPseudoLegal() {
+        final Set<Integer> everyMove = new HashSet<>();
+        for (final String fen : POSITIONS) {
+            everyMove.addAll(asSet(generate(new MutableBoard(FenUtilities.createGameFromFEN(fen)))));
+        }
+        for (final String fen : POSITIONS) {
+            final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(fen));
+            final Set<Integer> moves = asSet(generate(board));
+            for (final int move : everyMove) {
+                assertEquals(fen + " " + MoveEncoding.toString(move), moves.contains(move), board.isPseudoLegal(move));
+            }
+        }
+        assertFalse(new MutableBoard(FenUtilities.createGameFromFEN(POSITIONS[0])).isPseudoLegal(MoveEncoding.NO_MOVE));
+    }
+
+    @Test
+    public void testEveryMovePickedOnceHashMoveFirst() {
+        for (final String fen : POSITIONS) {
+            final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(fen));
+            final int[] moves = generate(board);
+            final int hashMove = moves[moves.length - 1];
+            final MoveHistory history = new MoveHistory();
+            history.update(moves[moves.length / 2], board.getPly(), 4, board.getSideToMove());
+            final List<Integer> picked = pick(board, hashMove, history, false);
+            assertEquals(fen, hashMove, (int) picked.get(0));
+            assertEquals(fen, moves.length, picked.size());
+            assertEquals(fen, asSet(moves), new HashSet<>(picked));
+        }
+    }
+
+    @Test
+    public void testTacticalOnlyPicksCaptures() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(POSITIONS[1]));
+        final List<Integer> picked = pick(board, MoveEncoding.NO_MOVE, new MoveHistory(), true);
+        assertFalse(picked.isEmpty());
+        for (final int move : picked) {
+            assertFalse(MoveHistory.isQuiet(move));
+            assertTrue(MoveHistory.tacticalScore(board, move) >= MoveHistory.TACTICAL_SCORE);
+        }
+    }
+}
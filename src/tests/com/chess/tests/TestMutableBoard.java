@@ -0,0 +1,97 @@
+package tests.com.chess.tests;
+
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.board.Move.MoveFactory;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Perft results of the search board, from <a href="https://www.chessprogramming.org/Perft_Results">...</a>
+ */
+public class TestMutableBoard {
+
+    private static long perft(final MutableBoard board, final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        final int numMoves = board.generateMoves(moves, 0);
+        long nodes = 0;
+        for (int i = 0; i < numMoves; i++) {
+            if (board.makeMove(moves[i])) {
+                nodes += perft(board, depth - 1);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    @Test
+    public void initialPositionDepth4() {
+        final MutableBoard board = new MutableBoard(Board.createStandardBoard());
+        assertEquals(197281L, perft(board, 4));
+    }
+
+    @Test
+    public void kiwiPeteDepth3() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        assertEquals(97862L, perft(new MutableBoard(board), 3));
+    }
+
+    @Test
+    public void testPosition3Depth4() {
+        final Board board = FenUtilities.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -");
+        assertEquals(43238L, perft(new MutableBoard(board), 4));
+    }
+
+    @Test
+    public void testPosition4Depth3() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+        assertEquals(9467L, perft(new MutableBoard(board), 3));
+    }
+
+    @Test
+    public void testPosition5Depth3() {
+        final Board board = FenUtilities.createGameFromFEN("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8");
+        assertEquals(62379L, perft(new MutableBoard(board), 3));
+    }
+
+    @Test
+    public void makeAndUnmakeRestoresThePosition() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final MutableBoard searchBoard = new MutableBoard(board);
+        final long occupancy = searchBoard.getOccupancy();
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves, 0);
+        for (int i = 0; i < numMoves; i++) {
+            if (searchBoard.makeMove(moves[i])) {
+                searchBoard.unmakeMove();
+            }
+            assertEquals(occupancy, searchBoard.getOccupancy());
+            assertEquals(board.currentPlayer().getAlliance(), searchBoard.getSideToMove());
+        }
+        assertEquals(numMoves, searchBoard.generateMoves(new int[MutableBoard.MAX_MOVES], 0));
+    }
+
+    @Test
+    public void encodedMovesRoundTrip() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final MutableBoard searchBoard = new MutableBoard(board);
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves, 0);
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final int encoded = MoveFactory.encode(move);
+            boolean generated = false;
+            for (int i = 0; i < numMoves; i++) {
+                generated |= moves[i] == encoded;
+            }
+            assertTrue(move.toString(), generated);
+            assertEquals(move, MoveFactory.createMove(board, encoded));
+        }
+    }
+}
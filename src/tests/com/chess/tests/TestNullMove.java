@@ -0,0 +1,51 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.NegamaxSearch;
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestNullMove {
+
+    private static NegamaxSearch search(final boolean nullMovePruning) {
+        return SearchTestUtils.searchBuilder().setNullMovePruning(nullMovePruning).build();
+    }
+
+    @Test
+    public void testNullMovePassesTheTurn() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(
+                "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3"));
+        final long key = board.getZobristKey();
+        board.makeNullMove();
+        assertEquals(new MutableBoard(FenUtilities.createGameFromFEN(
+                "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 3")).getZobristKey(), board.getZobristKey());
+        assertEquals(MoveEncoding.NO_MOVE, board.getLastMove(0));
+        board.unmakeNullMove();
+        assertEquals(key, board.getZobristKey());
+        assertEquals(0, board.getPly());
+    }
+
+    @Test
+    public void testNoNullMoveInPawnEndgames() {
+        assertTrue(!new MutableBoard(FenUtilities.createGameFromFEN("8/5k2/4p3/4P3/8/8/3K4/8 w - - 0 1"))
+                .hasNonPawnMaterial());
+        assertTrue(new MutableBoard(FenUtilities.createGameFromFEN("8/5k2/4p3/4P3/8/8/3K4/7N w - - 0 1"))
+                .hasNonPawnMaterial());
+    }
+
+    @Test
+    public void testNullMovesCutOff() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE));
+        final NegamaxSearch withNullMoves = search(true);
+        final NegamaxSearch withoutNullMoves = search(false);
+        assertEquals(withoutNullMoves.search(board, 6, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY),
+                withNullMoves.search(board, 6, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY));
+        assertTrue(withNullMoves.getNullMoveCutOffs() > 0);
+        assertEquals(0, withoutNullMoves.getNullMoveCutOffs());
+        assertTrue(withNullMoves.getNodes() < withoutNullMoves.getNodes());
+    }
+}
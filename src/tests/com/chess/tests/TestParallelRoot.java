@@ -0,0 +1,43 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.AlphaBetaWithMoveOrdering;
+import com.chess.controller.ai.SearchHandle;
+import com.chess.controller.ai.TranspositionTable;
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestParallelRoot {
+
+    /** Checks that the parallel search finds a move as good as the serial one */
+    private static void sameValue(final String fen) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+        SearchTestUtils.assertSameValueAsSerial(board, new AlphaBetaWithMoveOrdering(4, 0, new TranspositionTable(), 4).execute(board), 4);
+    }
+
+    @Test
+    public void testWhiteToMove() {
+        sameValue("r2r1n2/pp2bk2/2p1p2p/3q4/3PN1QP/2P3R1/P4PP1/5RK1 w - - 0 1");
+        sameValue(SearchTestUtils.KIWI_PETE);
+    }
+
+    @Test
+    public void testBlackToMove() {
+        sameValue("6k1/3b3r/1p1p4/p1n2p2/1PPNpP1q/P3Q1p1/1R1RB1P1/5K2 b - - 0-1");
+        sameValue("r1b1k2r/pp3pbp/1qn1p1p1/2pnP3/3p1PP1/1P1P1NBP/P1P5/RN1QKB1R b KQkq - 2 11");
+    }
+
+    @Test
+    public void testStop() {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final SearchHandle handle = new SearchHandle.Builder().setTimeLimit(300).build();
+        final long start = System.currentTimeMillis();
+        final Move bestMove = new AlphaBetaWithMoveOrdering(20, 0, new TranspositionTable(), 4).execute(board, handle);
+        assertTrue(handle.isStopped());
+        assertTrue(System.currentTimeMillis() - start < SearchTestUtils.STOP_SAFETY_BOUND);
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
+}
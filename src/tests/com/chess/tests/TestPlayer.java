@@ -8,6 +8,8 @@ import com.chess.model.board.Move.MoveFactory;
 import com.chess.model.pieces.Bishop;
 import com.chess.model.pieces.King;
 import com.chess.model.pieces.Rook;
+import com.chess.model.pgn.FenUtilities;
+import com.chess.controller.MoveStatus;
 import com.chess.controller.MoveTransition;
 import com.chess.controller.ai.StandardBoardEvaluator;
 import org.junit.Test;
@@ -89,6 +91,33 @@ public class TestPlayer {
         assertTrue(t3.getMoveStatus().isDone());
     }
 
+    @Test
+    public void testPinnedPiece() {
+        final Board board = FenUtilities.createGameFromFEN("k3r3/8/8/8/8/8/4N3/4K3 w - - 0 1");
+        final MoveTransition t1 = board.currentPlayer()
+                .makeMove(MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e2"),
+                        BoardUtils.getCoordinateAtPosition("c3")));
+        assertEquals(MoveStatus.LEAVES_PLAYER_IN_CHECK, t1.getMoveStatus());
+        assertEquals(4, board.currentPlayer().getStrictlyLegalMoves().size());
+        assertFalse(board.currentPlayer().isInCheck());
+    }
+
+    @Test
+    public void testEnPassantDiscoveredCheck() {
+        final Board board = FenUtilities.createGameFromFEN("8/8/8/8/k2p3R/8/4P3/7K w - - 0 1");
+        final MoveTransition t1 = board.currentPlayer()
+                .makeMove(MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("e2"),
+                        BoardUtils.getCoordinateAtPosition("e4")));
+        assertTrue(t1.getMoveStatus().isDone());
+        final Board afterJump = t1.getTransitionBoard();
+        final Move enPassant = MoveFactory.createMove(afterJump, BoardUtils.getCoordinateAtPosition("d4"),
+                BoardUtils.getCoordinateAtPosition("e3"));
+        assertTrue(enPassant instanceof Move.PawnEnPassantAttackMove);
+        final MoveTransition t2 = afterJump.currentPlayer().makeMove(enPassant);
+        assertEquals(MoveStatus.LEAVES_PLAYER_IN_CHECK, t2.getMoveStatus());
+        assertFalse(afterJump.currentPlayer().getStrictlyLegalMoves().contains(enPassant));
+    }
+
     @Test
     public void testUnmakeMove() {
         final Board board = Board.createStandardBoard();
@@ -0,0 +1,47 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.NegamaxSearch;
+import com.chess.controller.ai.StandardBoardEvaluator;
+import com.chess.controller.ai.StockAlphaBeta;
+import com.chess.model.board.Board;
+import com.chess.model.board.BoardUtils;
+import com.chess.model.board.Move;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestQuiescence {
+
+    private static NegamaxSearch quiescenceSearch() {
+        return SearchTestUtils.searchBuilder().setQuiescenceDepth(8).build();
+    }
+
+    @Test
+    public void testDefendedPawnIsNotTaken() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1");
+        final Move bestMove = new StockAlphaBeta(1).execute(board);
+        assertTrue(!bestMove.equals(Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d1"),
+                BoardUtils.getCoordinateAtPosition("d5"))));
+    }
+
+    @Test
+    public void testHangingRookIsSeen() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN("4k3/8/8/3r4/8/8/8/3QK3 w - - 0 1"));
+        final int staticValue = StandardBoardEvaluator.get().evaluate(board, 0);
+        final NegamaxSearch search = quiescenceSearch();
+        final int value = search.search(board, 0, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        assertTrue(value >= staticValue + 400);
+        assertTrue(search.getQuiescenceNodes() > 1);
+    }
+
+    @Test
+    public void testStandPat() {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1"));
+        final int staticValue = StandardBoardEvaluator.get().evaluate(board, 0);
+        final int value = quiescenceSearch().search(board, 0, -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY);
+        assertTrue(value >= staticValue);
+        assertTrue(value < staticValue + 100);
+    }
+}
@@ -0,0 +1,49 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.AlphaBetaWithMoveOrdering;
+import com.chess.controller.ai.IterativeDeepening;
+import com.chess.controller.ai.SearchHandle;
+import com.chess.controller.ai.StockAlphaBeta;
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestSearchHandle {
+
+    @Test
+    public void testStop() throws Exception {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final SearchHandle handle = SearchHandle.unlimited().start(new IterativeDeepening(64), board);
+        Thread.sleep(200);
+        assertTrue(!handle.isDone());
+        assertTrue(handle.cancel(true));
+        final Move bestMove = handle.get(2, TimeUnit.SECONDS);
+        assertTrue(handle.isCancelled());
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
+
+    @Test
+    public void testNodeLimit() throws Exception {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final SearchHandle handle = new SearchHandle.Builder().setNodeLimit(50000).build()
+                .start(new AlphaBetaWithMoveOrdering(20, 0), board);
+        handle.get(5, TimeUnit.SECONDS);
+        assertTrue(handle.isStopped());
+        assertTrue(!handle.isCancelled());
+    }
+
+    @Test
+    public void testDeadline() {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final SearchHandle handle = new SearchHandle.Builder().setTimeLimit(200).build();
+        final long start = System.currentTimeMillis();
+        new StockAlphaBeta(20).execute(board, handle);
+        assertTrue(handle.isStopped());
+        assertTrue(System.currentTimeMillis() - start < SearchTestUtils.STOP_SAFETY_BOUND);
+    }
+}
@@ -0,0 +1,47 @@
+package tests.com.chess.tests;
+
+import com.chess.model.board.BoardUtils;
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestStaticExchange {
+
+    private static int staticExchange(final String fen, final String from, final String to) {
+        final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(fen));
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        final int numMoves = board.generateMoves(moves, 0);
+        for (int i = 0; i < numMoves; i++) {
+            if (MoveEncoding.getFrom(moves[i]) == BoardUtils.getCoordinateAtPosition(from) &&
+                    MoveEncoding.getTo(moves[i]) == BoardUtils.getCoordinateAtPosition(to)) {
+                return board.staticExchange(moves[i]);
+            }
+        }
+        throw new RuntimeException("No move from " + from + " to " + to);
+    }
+
+    @Test
+    public void testFreePawn() {
+        assertEquals(100, staticExchange("4k3/8/8/3p4/8/8/8/3QK3 w - - 0 1", "d1", "d5"));
+    }
+
+    @Test
+    public void testDefendedPawn() {
+        assertEquals(-800, staticExchange("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", "d1", "d5"));
+    }
+
+    @Test
+    public void testXRay() {
+        assertEquals(100, staticExchange("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2", "d5"));
+        assertEquals(-400, staticExchange("3rk3/8/8/3p4/8/8/3R4/4K3 w - - 0 1", "d2", "d5"));
+    }
+
+    @Test
+    public void testKingCannotTakeDefendedPiece() {
+        assertEquals(100, staticExchange("8/8/4k3/3p4/8/8/3Q4/3RK3 w - - 0 1", "d2", "d5"));
+        assertEquals(-800, staticExchange("8/8/4k3/3p4/8/8/3Q4/4K3 w - - 0 1", "d2", "d5"));
+    }
+}
@@ -0,0 +1,52 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.TranspositionTable;
+import com.chess.model.board.MoveEncoding;
+import com.chess.model.pieces.PieceType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestTranspositionTable {
+
+    private static final int MOVE = MoveEncoding.create(52, 36, MoveEncoding.DOUBLE_PAWN_PUSH,
+            PieceType.PAWN.ordinal(), MoveEncoding.NO_PIECE);
+
+    @Test
+    public void testStoreAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1);
+        assertEquals(TranspositionTable.MISS, table.probe(0x1234L));
+        table.store(0x1234L, 7, TranspositionTable.LOWER_BOUND, -350, MOVE);
+        final long entry = table.probe(0x1234L);
+        assertEquals(-350, TranspositionTable.getScore(entry));
+        assertEquals(MOVE, TranspositionTable.getMove(entry));
+        assertEquals(7, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(0x1234L));
+    }
+
+    @Test
+    public void testKeepsTheDeepestAndTheNewest() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long deep = 5L;
+        final long shallow = 5L | (1L << 40);      /* the same bucket, another position */
+        final long newest = 5L | (1L << 41);
+        table.store(deep, 9, TranspositionTable.EXACT, 10, MOVE);
+        table.store(shallow, 2, TranspositionTable.EXACT, 20, MOVE);
+        table.store(newest, 1, TranspositionTable.EXACT, 30, MOVE);
+        assertEquals(10, TranspositionTable.getScore(table.probe(deep)));
+        assertEquals(TranspositionTable.MISS, table.probe(shallow));
+        assertEquals(30, TranspositionTable.getScore(table.probe(newest)));
+    }
+
+    @Test
+    public void testKeepsTheBestMove() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(0x99L, 3, TranspositionTable.EXACT, 0, MOVE);
+        table.store(0x99L, 4, TranspositionTable.UPPER_BOUND, -20, MoveEncoding.NO_MOVE);
+        final long entry = table.probe(0x99L);
+        assertEquals(MOVE, TranspositionTable.getMove(entry));
+        assertEquals(4, TranspositionTable.getDepth(entry));
+    }
+}
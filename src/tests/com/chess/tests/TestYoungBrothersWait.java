@@ -0,0 +1,69 @@
+package tests.com.chess.tests;
+
+import com.chess.controller.ai.SearchHandle;
+import com.chess.controller.ai.YoungBrothersWait;
+import com.chess.model.board.Board;
+import com.chess.model.board.Move;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestYoungBrothersWait {
+
+    /** Checks that the parallel search finds a move as good as the serial one */
+    private static void sameValue(final String fen, final int threads) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+        SearchTestUtils.assertSameValueAsSerial(board, new YoungBrothersWait(4, threads).execute(board), 4);
+    }
+
+    @Test
+    public void testOneThread() {
+        sameValue(SearchTestUtils.KIWI_PETE, 1);
+    }
+
+    @Test
+    public void testWhiteToMove() {
+        sameValue("r2r1n2/pp2bk2/2p1p2p/3q4/3PN1QP/2P3R1/P4PP1/5RK1 w - - 0 1", 4);
+        sameValue(SearchTestUtils.KIWI_PETE, 4);
+    }
+
+    @Test
+    public void testBlackToMove() {
+        sameValue("6k1/3b3r/1p1p4/p1n2p2/1PPNpP1q/P3Q1p1/1R1RB1P1/5K2 b - - 0-1", 4);
+        sameValue("r1b1k2r/pp3pbp/1qn1p1p1/2pnP3/3p1PP1/1P1P1NBP/P1P5/RN1QKB1R b KQkq - 2 11", 4);
+    }
+
+    @Test
+    public void testSplitsAndAborts() {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final YoungBrothersWait oneThread = new YoungBrothersWait(5, 1);
+        oneThread.execute(board);
+        assertTrue(oneThread.getSplits() > 0);
+        assertTrue(oneThread.getAborts() > 0);      /* the brothers after a cutoff are not searched */
+        final YoungBrothersWait fourThreads = new YoungBrothersWait(5, 4);
+        fourThreads.execute(board);
+        assertTrue(fourThreads.getSplits() > 0);
+        assertTrue(fourThreads.getAborts() > 0);
+    }
+
+    @Test
+    public void testNoSplitsNearTheLeaves() {
+        final YoungBrothersWait search = new YoungBrothersWait(2, 4);
+        search.execute(FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE));
+        assertEquals(0, search.getSplits());
+        assertEquals(0, search.getAborts());
+    }
+
+    @Test
+    public void testStop() {
+        final Board board = FenUtilities.createGameFromFEN(SearchTestUtils.KIWI_PETE);
+        final SearchHandle handle = new SearchHandle.Builder().setTimeLimit(300).build();
+        final long start = System.currentTimeMillis();
+        final Move bestMove = new YoungBrothersWait(20, 4).execute(board, handle);
+        assertTrue(handle.isStopped());
+        assertTrue(System.currentTimeMillis() - start < SearchTestUtils.STOP_SAFETY_BOUND);
+        assertTrue(board.currentPlayer().makeMove(bestMove).getMoveStatus().isDone());
+    }
+}
@@ -0,0 +1,92 @@
+package tests.com.chess.tests;
+
+import com.chess.model.board.Board;
+import com.chess.model.board.BoardUtils;
+import com.chess.model.board.Move;
+import com.chess.model.board.Move.MoveFactory;
+import com.chess.model.board.MutableBoard;
+import com.chess.model.board.Zobrist;
+import com.chess.model.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestZobrist {
+
+    private static Board play(final Board board, final String from, final String to) {
+        final Move move = MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(from),
+                BoardUtils.getCoordinateAtPosition(to));
+        return board.currentPlayer().makeMove(move).getTransitionBoard();
+    }
+
+    /** Plays random games and checks the key kept by every move against the key calculated from scratch */
+    private static void randomGames(final String fen) {
+        final Random random = new Random(42);
+        for (int game = 0; game < 10; game++) {
+            Board board = FenUtilities.createGameFromFEN(fen);
+            final MutableBoard searchBoard = new MutableBoard(board);
+            for (int ply = 0; ply < 60; ply++) {
+                final List<Move> moves = new ArrayList<>(board.currentPlayer().getStrictlyLegalMoves());
+                if (moves.isEmpty()) {
+                    break;
+                }
+                final Move move = moves.get(random.nextInt(moves.size()));
+                board = board.currentPlayer().makeMove(move).getTransitionBoard();
+                searchBoard.makeMove(MoveFactory.encode(move));
+                assertEquals(Zobrist.calculate(board), board.getZobristKey());
+                /* a board gives castling rights back to a rook that returns home, the search board does not */
+                assertEquals(board.getZobristKey() ^ Zobrist.castling(board.getCastlingRights()),
+                        searchBoard.getZobristKey() ^ Zobrist.castling(searchBoard.getCastlingRights()));
+                assertEquals(board.getZobristKey(), new MutableBoard(board).getZobristKey());
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalKeyFromStart() {
+        randomGames("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+    }
+
+    @Test
+    public void testIncrementalKeyKiwiPete() {
+        randomGames("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+    }
+
+    @Test
+    public void testIncrementalKeyPromotions() {
+        randomGames("n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1");
+    }
+
+    @Test
+    public void testTransposition() {
+        final Board start = Board.createStandardBoard();
+        Board board = play(start, "g1", "f3");
+        board = play(board, "g8", "f6");
+        board = play(board, "f3", "g1");
+        board = play(board, "f6", "g8");
+        assertEquals(start.getZobristKey(), board.getZobristKey());
+        final Board e4 = play(play(play(start, "e2", "e4"), "e7", "e5"), "d2", "d4");
+        final Board d4 = play(play(play(start, "d2", "d4"), "e7", "e5"), "e2", "e4");
+        assertTrue(e4.getZobristKey() != d4.getZobristKey()); /* only the last move is a pawn jump */
+        assertEquals(play(e4, "b8", "c6").getZobristKey(), play(d4, "b8", "c6").getZobristKey());
+    }
+
+    @Test
+    public void testMakeAndUnmakeRestoresTheKey() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final MutableBoard searchBoard = new MutableBoard(board);
+        final int[] moves = new int[MutableBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves, 0);
+        for (int i = 0; i < numMoves; i++) {
+            if (searchBoard.makeMove(moves[i])) {
+                searchBoard.unmakeMove();
+            }
+            assertEquals(board.getZobristKey(), searchBoard.getZobristKey());
+        }
+    }
+}